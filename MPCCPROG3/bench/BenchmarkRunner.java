@@ -0,0 +1,236 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Small microbenchmark harness for the game's hot paths. Every benchmark is
+ * warmed up, then timed over several fixed-length iterations, and the average
+ * time per operation is reported. Results are written as JSON in the layout of
+ * JMH's JSON output so that runs can be compared with the usual tools.
+ *
+ * Run from the MPCCPROG3 directory, so that the assets are found:
+ * java -cp out BenchmarkRunner [name filter] [-o results.json] [-quick]
+ */
+public class BenchmarkRunner {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    private static final long WARMUP_NANOS = 300_000_000L;
+    private static final long MEASUREMENT_NANOS = 500_000_000L;
+    private static final double Z_999 = 3.29; // Two-sided 99.9% normal quantile
+
+    /**
+     * One benchmark operation. The result is consumed so the JIT cannot drop the work.
+     */
+    public interface Operation {
+        /**
+         * Runs the operation once.
+         *
+         * @return Any value derived from the work done.
+         */
+        long run();
+    }
+
+    private static volatile long sink; // Consumes operation results
+
+    private final Map<String, Supplier<Operation>> benchmarks = new LinkedHashMap<>();
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long warmupNanos;
+    private final long measurementNanos;
+
+    /**
+     * Constructs a runner.
+     *
+     * @param quick True for a short smoke run with fewer and shorter iterations.
+     */
+    public BenchmarkRunner(boolean quick) {
+        this.warmupIterations = quick ? 1 : WARMUP_ITERATIONS;
+        this.measurementIterations = quick ? 2 : MEASUREMENT_ITERATIONS;
+        this.warmupNanos = quick ? WARMUP_NANOS / 3 : WARMUP_NANOS;
+        this.measurementNanos = quick ? MEASUREMENT_NANOS / 5 : MEASUREMENT_NANOS;
+    }
+
+    /**
+     * Registers a benchmark.
+     *
+     * @param name  The benchmark name, for example "RuleBenchmarks.boardMovePiece".
+     * @param setup Creates fresh state and returns the operation to time.
+     */
+    public void add(String name, Supplier<Operation> setup) {
+        benchmarks.put(name, setup);
+    }
+
+    /**
+     * Runs the benchmarks whose name contains the filter.
+     *
+     * @param filter The name filter, or an empty string for all.
+     * @return One JSON object per benchmark run.
+     */
+    public List<String> run(String filter) {
+        List<String> results = new ArrayList<>();
+        for (Map.Entry<String, Supplier<Operation>> entry : benchmarks.entrySet()) {
+            String name = entry.getKey();
+            if (!name.contains(filter)) {
+                continue;
+            }
+            double[] raw = new double[measurementIterations];
+            Operation operation = entry.getValue().get();
+            for (int i = 0; i < warmupIterations; i++) {
+                measure(operation, warmupNanos);
+            }
+            for (int i = 0; i < measurementIterations; i++) {
+                raw[i] = measure(operation, measurementNanos);
+            }
+            double score = mean(raw);
+            double error = Z_999 * standardDeviation(raw, score) / Math.sqrt(raw.length);
+            System.out.printf(Locale.ROOT, "%-45s %12.1f +- %8.1f ns/op%n", name, score, error);
+            results.add(toJson(name, score, error, raw));
+        }
+        return results;
+    }
+
+    /**
+     * Times one iteration.
+     *
+     * @param operation The operation to time.
+     * @param duration  The minimum iteration length in nanoseconds.
+     * @return The average time per operation in nanoseconds.
+     */
+    private static double measure(Operation operation, long duration) {
+        long result = 0;
+        long operations = 0;
+        long batch = 1;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (long i = 0; i < batch; i++) {
+                result += operation.run();
+            }
+            operations += batch;
+            batch = Math.min(batch * 2, 1 << 16); // Keep clock reads out of the timing
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < duration);
+        sink += result;
+        return elapsed / (double) operations;
+    }
+
+    /**
+     * Gets the average of some values.
+     *
+     * @param values The values.
+     * @return The mean.
+     */
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    /**
+     * Gets the sample standard deviation of some values.
+     *
+     * @param values The values.
+     * @param mean   Their mean.
+     * @return The standard deviation, or 0 for a single value.
+     */
+    private static double standardDeviation(double[] values, double mean) {
+        if (values.length < 2) {
+            return 0;
+        }
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(sum / (values.length - 1));
+    }
+
+    /**
+     * Formats one result like a JMH JSON entry in average-time mode.
+     *
+     * @param name  The benchmark name.
+     * @param score The mean time per operation.
+     * @param error The half-width of the 99.9% confidence interval.
+     * @param raw   The time per operation of each measurement iteration.
+     * @return The JSON object.
+     */
+    private String toJson(String name, double score, double error, double[] raw) {
+        StringBuilder json = new StringBuilder();
+        json.append("  {\n");
+        json.append("    \"benchmark\" : \"").append(name).append("\",\n");
+        json.append("    \"mode\" : \"avgt\",\n");
+        json.append("    \"threads\" : 1,\n");
+        json.append("    \"forks\" : 0,\n");
+        json.append("    \"jdkVersion\" : \"").append(System.getProperty("java.version")).append("\",\n");
+        json.append("    \"warmupIterations\" : ").append(warmupIterations).append(",\n");
+        json.append("    \"warmupTime\" : \"").append(warmupNanos / 1_000_000).append(" ms\",\n");
+        json.append("    \"measurementIterations\" : ").append(measurementIterations).append(",\n");
+        json.append("    \"measurementTime\" : \"").append(measurementNanos / 1_000_000).append(" ms\",\n");
+        json.append("    \"primaryMetric\" : {\n");
+        json.append("      \"score\" : ").append(number(score)).append(",\n");
+        json.append("      \"scoreError\" : ").append(number(error)).append(",\n");
+        json.append("      \"scoreConfidence\" : [ ").append(number(score - error)).append(", ")
+                .append(number(score + error)).append(" ],\n");
+        json.append("      \"scoreUnit\" : \"ns/op\",\n");
+        json.append("      \"rawData\" : [ [ ");
+        for (int i = 0; i < raw.length; i++) {
+            json.append(i == 0 ? "" : ", ").append(number(raw[i]));
+        }
+        json.append(" ] ]\n");
+        json.append("    }\n");
+        json.append("  }");
+        return json.toString();
+    }
+
+    /**
+     * Formats a number for the JSON report.
+     *
+     * @param value The number.
+     * @return The number with three decimals.
+     */
+    private static String number(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /**
+     * Runs all benchmarks and writes the JSON report.
+     *
+     * @param args An optional name filter, "-o file" for the report path and "-quick" for a smoke run.
+     * @throws IOException If the report cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        String filter = "";
+        String output = "bench-results.json";
+        boolean quick = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-o") && i + 1 < args.length) {
+                output = args[++i];
+            } else if (args[i].equals("-quick")) {
+                quick = true;
+            } else {
+                filter = args[i];
+            }
+        }
+
+        BenchmarkRunner runner = new BenchmarkRunner(quick);
+        RuleBenchmarks.register(runner);
+        ViewBenchmarks.register(runner);
+        List<String> results = runner.run(filter);
+
+        try (Writer writer = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            writer.write(String.join(",\n", results));
+            writer.write("\n]\n");
+        }
+        System.out.println("Results written to " + output);
+    }
+}
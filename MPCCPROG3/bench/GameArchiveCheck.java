@@ -0,0 +1,235 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Checks GameArchive and MappedFile on a throwaway archive of random legal games
+ * with 64 KB segments: every game reads back byte for byte at the offset the padding
+ * rule gives, every position reached is found with exactly the postings of the games
+ * that reached it, and an illegal game leaves the archive unchanged. The checks run
+ * again after the archive is reopened, and only the latest index file may be left.
+ * Exits with status 1 on a mismatch.
+ *
+ * Run from the MPCCPROG3 directory:
+ * java -cp out GameArchiveCheck [games] [seed]
+ */
+public class GameArchiveCheck {
+    private static final int SEGMENT_SHIFT = 16; // 64 KB, so the check crosses a dozen boundaries
+
+    /**
+     * Writes random games to a record file.
+     *
+     * @param file   The file to create.
+     * @param games  The number of games.
+     * @param random The source of the games.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void writeRandomGames(Path file, int games, Random random) throws IOException {
+        int[] codes = new int[1001];
+        try (GameRecordWriter writer = new GameRecordWriter(Files.newOutputStream(file))) {
+            for (int g = 0; g < games; g++) {
+                boolean player1First = random.nextBoolean();
+                int moves = GameRecordCheck.randomGame(random, player1First, random.nextInt(1000), codes);
+                writer.beginGame("Player " + g, random.nextInt(8) == 0 ? "x".repeat(255) : "", player1First);
+                for (int i = 0; i < moves; i++) {
+                    writer.writeMove(codes[i]);
+                }
+                writer.endGame(codes[moves] - GameRecord.END_UNFINISHED);
+            }
+        }
+    }
+
+    /**
+     * Packs the fields of a posting into one comparable value.
+     *
+     * @param game   The game number.
+     * @param ply    The number of moves played to reach the position.
+     * @param winner The result of the game.
+     * @return The packed posting.
+     */
+    private static long posting(long game, int ply, int winner) {
+        return (game << 32) | ((long) ply << 8) | winner;
+    }
+
+    /**
+     * Checks an archive against the record files it was built from: every game reads
+     * back byte for byte at the offset the padding rule gives, and looking up any
+     * position reached finds exactly the postings of the games and plies that reached it.
+     *
+     * @param archive The archive.
+     * @param sources The record files, in the order they were appended.
+     * @return The number of failed checks.
+     * @throws IOException If a record file cannot be read.
+     */
+    private static int check(GameArchive archive, List<Path> sources) throws IOException {
+        int failures = 0;
+        long segmentSize = 1L << SEGMENT_SHIFT;
+        long offset = GameRecord.FILE_HEADER_SIZE;
+        long game = 0;
+        int padded = 0;
+        Map<Long, List<Long>> expected = new HashMap<>();
+        Position position = new Position(1);
+        int[] scratch = new int[4];
+        for (Path source : sources) {
+            ByteBuffer file = GameRecordReader.map(source);
+            GameRecordReader reader = new GameRecordReader(file);
+            while (reader.next()) {
+                int length = reader.getGameEnd() - reader.getGameOffset();
+                if (length > segmentSize - (offset & (segmentSize - 1))) { // As GameArchive.append pads
+                    offset = (offset | (segmentSize - 1)) + 1;
+                    padded++;
+                }
+
+                // The game is stored whole at the padded offset
+                GameRecordReader stored = archive.readGame(game);
+                ByteBuffer copy = ByteBuffer.allocate(length);
+                stored.copyGame(copy, 0);
+                boolean same = stored.getGameOffset() == (int) (offset & (segmentSize - 1))
+                        && stored.getGameEnd() - stored.getGameOffset() == length
+                        && copy.equals(file.slice(reader.getGameOffset(), length));
+                if (!same) {
+                    System.out.println("Game " + game + " does not read back as appended");
+                    failures++;
+                }
+
+                reader.replay(position, 0, scratch);
+                int plies = Math.min(reader.getMoveCount(), GameArchive.MAX_INDEXED_PLY);
+                for (int i = 0; i < plies; i++) {
+                    reader.playMove(position, i, scratch);
+                    expected.computeIfAbsent(position.hash(), key -> new ArrayList<>())
+                            .add(posting(game, i + 1, reader.getWinner()));
+                }
+                offset += length;
+                game++;
+            }
+        }
+        if (archive.getGameCount() != game) {
+            System.out.println("Archive has " + archive.getGameCount() + " games, expected " + game);
+            failures++;
+        }
+
+        long postingCount = 0;
+        long[] postings = new long[16];
+        for (Map.Entry<Long, List<Long>> entry : expected.entrySet()) {
+            List<Long> want = entry.getValue();
+            postingCount += want.size();
+            if (postings.length < want.size()) {
+                postings = new long[want.size() * 2];
+            }
+            int found = archive.lookup(entry.getKey(), postings);
+            long[] sorted = new long[Math.min(found, postings.length)];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = posting(GameArchive.postingGame(postings[i]), GameArchive.postingPly(postings[i]),
+                        GameArchive.postingWinner(postings[i]));
+            }
+            Arrays.sort(sorted);
+            long[] wanted = want.stream().mapToLong(Long::longValue).sorted().toArray();
+            if (found != wanted.length || !Arrays.equals(sorted, wanted)) {
+                System.out.println("Lookup of " + Long.toHexString(entry.getKey()) + " found " + found
+                        + " postings, expected " + wanted.length);
+                failures++;
+            }
+        }
+        if (archive.getPostingCount() != postingCount) {
+            System.out.println("Archive has " + archive.getPostingCount() + " postings, expected " + postingCount);
+            failures++;
+        }
+        System.out.println(game + " games (" + padded + " padded to a segment boundary), "
+                + expected.size() + " positions, " + postingCount + " postings checked");
+        return failures;
+    }
+
+    /**
+     * Builds an archive of random games with small segments and checks it, before and
+     * after reopening it. The archive is built by importing one record file and appending
+     * the games of another one by one; an illegal game must leave it unchanged.
+     *
+     * @param games The number of random games.
+     * @param seed  The random seed.
+     * @return The number of failed checks.
+     * @throws IOException If the temporary files cannot be written.
+     */
+    private static int verify(int games, long seed) throws IOException {
+        Random random = new Random(seed);
+        Path dir = Files.createTempDirectory("archive-verify");
+        Path base = dir.resolve("games");
+        List<Path> sources = List.of(dir.resolve("first.jkr"), dir.resolve("second.jkr"));
+        writeRandomGames(sources.get(0), games / 2, random);
+        writeRandomGames(sources.get(1), games - games / 2, random);
+        Path illegal = dir.resolve("illegal.jkr");
+        try (GameRecordWriter writer = new GameRecordWriter(Files.newOutputStream(illegal))) {
+            writer.beginGame("", "", true);
+            writer.writeMove(GameRecord.encode(0, Move.UP)); // Off the board
+            writer.endGame(0);
+        }
+
+        int failures = 0;
+        try {
+            try (GameArchive archive = GameArchive.open(base, SEGMENT_SHIFT)) {
+                archive.importFile(sources.get(0));
+                GameRecordReader reader = new GameRecordReader(GameRecordReader.map(sources.get(1)));
+                while (reader.next()) {
+                    archive.append(reader);
+                }
+
+                long gameCount = archive.getGameCount();
+                long postingCount = archive.getPostingCount();
+                try {
+                    archive.importFile(illegal);
+                    System.out.println("An illegal game was appended");
+                    failures++;
+                } catch (IllegalArgumentException e) {
+                    if (archive.getGameCount() != gameCount || archive.getPostingCount() != postingCount) {
+                        System.out.println("An illegal game changed the archive");
+                        failures++;
+                    }
+                }
+                failures += check(archive, sources);
+            }
+            try (GameArchive archive = GameArchive.open(base, SEGMENT_SHIFT)) {
+                System.out.print("Reopened: ");
+                failures += check(archive, sources);
+            }
+
+            // Growing the index switches to a new file; the old ones must be gone
+            try (var files = Files.list(dir)) {
+                long indexFiles = files.filter(file -> file.toString().endsWith(".jki")).count();
+                if (indexFiles != 1) {
+                    System.out.println(indexFiles + " index files left, expected 1");
+                    failures++;
+                }
+            }
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(dir);
+        }
+        return failures;
+    }
+
+    /**
+     * Runs the check.
+     *
+     * @param args Optionally the number of games and the random seed.
+     * @throws IOException If the temporary files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int failures = verify(Math.max(games, 2), seed);
+        System.out.println(failures == 0 ? "All games and lookups match" : failures + " MISMATCHES");
+        if (failures != 0) {
+            System.exit(1);
+        }
+    }
+}
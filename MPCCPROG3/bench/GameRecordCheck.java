@@ -0,0 +1,201 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Round-trip check of GameRecordWriter and GameRecordReader. Random legal games with
+ * random names are written to memory and read back: every field must match, names
+ * longer than GameRecord.MAX_NAME_BYTES must be cut at the last whole character that
+ * fits, and a file cut off inside a game must fail with IllegalStateException.
+ * Exits with status 1 on a mismatch.
+ *
+ * Run from the MPCCPROG3 directory:
+ * java -cp out GameRecordCheck [games] [seed]
+ */
+public class GameRecordCheck {
+
+    /**
+     * Plays a game of random legal moves from the starting position. The game stops
+     * when a piece reaches a den, when the side to move has no move, or after maxMoves.
+     *
+     * @param random       The source of the moves.
+     * @param player1First True if Player 1 moves first.
+     * @param maxMoves     The most moves to play.
+     * @param codes        Receives the move codes followed by the end code, with room for maxMoves + 1.
+     * @return The number of moves played.
+     */
+    static int randomGame(Random random, boolean player1First, int maxMoves, int[] codes) {
+        Position position = new Position(1);
+        position.setStartPosition();
+        position.setSideToMove(player1First ? Position.PLAYER1 : Position.PLAYER2);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int winner = 0;
+        int count = 0;
+        while (count < maxMoves) {
+            int moveCount = MoveGenerator.generate(position, moves, 0);
+            if (moveCount == 0) {
+                break;
+            }
+            int move = moves[random.nextInt(moveCount)];
+            codes[count++] = GameRecord.encode(move);
+            int side = position.sideToMove();
+            position.makeMove(move);
+            position.discardHistory();
+            if (position.hasReachedDen(side)) {
+                winner = side + 1;
+                break;
+            }
+            if (!position.hasPiecesLeft(side ^ 1)) {
+                position.setSideToMove(side); // As in GameModel, the mover keeps the turn
+            }
+        }
+        codes[count] = GameRecord.endCode(winner);
+        return count;
+    }
+
+    /**
+     * Builds a random name of ASCII letters mixed with two, three and four byte
+     * UTF-8 characters, often longer than GameRecord.MAX_NAME_BYTES.
+     *
+     * @param random The source of the characters.
+     * @return The name.
+     */
+    private static String randomName(Random random) {
+        int[] samples = {'a', 'Z', 0x00E9, 0x03A9, 0x4E2D, 0xAC00, 0x1F40D, 0x1F981};
+        StringBuilder name = new StringBuilder();
+        int length = random.nextInt(4) == 0 ? 100 + random.nextInt(200) : random.nextInt(20);
+        for (int i = 0; i < length; i++) {
+            name.appendCodePoint(samples[random.nextInt(samples.length)]);
+        }
+        return name.toString();
+    }
+
+    /**
+     * Gets the name a record keeps: the longest run of whole characters from the
+     * start that fits in GameRecord.MAX_NAME_BYTES of UTF-8.
+     *
+     * @param name The name written.
+     * @return The name read back.
+     */
+    private static String storedName(String name) {
+        int bytes = 0;
+        int end = 0;
+        while (end < name.length()) {
+            int codePoint = name.codePointAt(end);
+            bytes += codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (bytes > GameRecord.MAX_NAME_BYTES) {
+                break;
+            }
+            end += Character.charCount(codePoint);
+        }
+        return name.substring(0, end);
+    }
+
+    /**
+     * Writes random games, reads them back and checks that nothing was lost.
+     *
+     * @param games The number of games.
+     * @param seed  The random seed.
+     * @return The number of failed checks.
+     * @throws IOException Never, the games are written to memory.
+     */
+    private static int verify(int games, long seed) throws IOException {
+        Random random = new Random(seed);
+        String[][] names = new String[games][2];
+        boolean[] firsts = new boolean[games];
+        int[][] codes = new int[games][];
+        int[] buffer = new int[1001];
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int[] ends = new int[games]; // Offset just past each game
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            for (int g = 0; g < games; g++) {
+                names[g][0] = randomName(random);
+                names[g][1] = randomName(random);
+                firsts[g] = random.nextBoolean();
+                int moves = randomGame(random, firsts[g], random.nextInt(1000), buffer);
+                codes[g] = Arrays.copyOf(buffer, moves + 1);
+                writer.beginGame(names[g][0], names[g][1], firsts[g]);
+                for (int i = 0; i < moves; i++) {
+                    writer.writeMove(codes[g][i]);
+                }
+                writer.endGame(codes[g][moves] - GameRecord.END_UNFINISHED);
+                writer.flush();
+                ends[g] = bytes.size();
+            }
+        }
+        byte[] file = bytes.toByteArray();
+
+        // Every field of every game, and the moves replay as legal moves
+        int failures = 0;
+        GameRecordReader reader = new GameRecordReader(ByteBuffer.wrap(file));
+        Position position = new Position(1);
+        int[] scratch = new int[4];
+        for (int g = 0; g < games; g++) {
+            int moves = codes[g].length - 1;
+            boolean ok = reader.next()
+                    && reader.isPlayer1First() == firsts[g]
+                    && reader.getPlayerName(true).equals(storedName(names[g][0]))
+                    && reader.getPlayerName(false).equals(storedName(names[g][1]))
+                    && reader.getPlayerName(true).getBytes(StandardCharsets.UTF_8).length <= GameRecord.MAX_NAME_BYTES
+                    && reader.getMoveCount() == moves
+                    && reader.getWinner() == codes[g][moves] - GameRecord.END_UNFINISHED
+                    && reader.getGameEnd() == ends[g]
+                    && reader.replay(position, moves, scratch);
+            for (int i = 0; ok && i < moves; i++) {
+                ok = reader.getMoveCode(i) == codes[g][i];
+            }
+            if (!ok) {
+                System.out.println("Game " + g + " does not read back as written");
+                failures++;
+            }
+        }
+        if (reader.next()) {
+            System.out.println("Games after the last one written");
+            failures++;
+        }
+
+        // A file cut anywhere but between two games must fail with IllegalStateException
+        int cuts = 0;
+        int last = Math.min(file.length, ends[Math.min(games, 20) - 1]);
+        for (int length = GameRecord.FILE_HEADER_SIZE; length < last; length++) {
+            boolean boundary = length == GameRecord.FILE_HEADER_SIZE || Arrays.binarySearch(ends, length) >= 0;
+            GameRecordReader cut = new GameRecordReader(ByteBuffer.wrap(file, 0, length).slice());
+            String outcome = "was read";
+            try {
+                while (cut.next()) {
+                    // Read up to the cut
+                }
+            } catch (IllegalStateException e) {
+                outcome = "failed";
+            } catch (RuntimeException e) {
+                outcome = "failed with " + e;
+            }
+            if (!outcome.equals(boundary ? "was read" : "failed")) {
+                System.out.println("File cut at " + length + " " + outcome);
+                failures++;
+            }
+            cuts++;
+        }
+        System.out.println(games + " games, " + file.length + " bytes, " + cuts + " cut files checked");
+        return failures;
+    }
+
+    /**
+     * Runs the round-trip check.
+     *
+     * @param args Optionally the number of games and the random seed.
+     * @throws IOException Never, the games are written to memory.
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int failures = verify(Math.max(games, 1), seed);
+        System.out.println(failures == 0 ? "All games match" : failures + " MISMATCHES");
+        if (failures != 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks of the rule code: board moves, captures, lake jumps and the model's move handling.
+ * Every benchmark moves pieces back and forth so the board returns to the same state.
+ */
+public class RuleBenchmarks {
+    private static final int GAME_LENGTH = 4096; // Moves per game in modelMovePiece, a multiple of 4
+
+    /**
+     * Registers the rule benchmarks.
+     *
+     * @param runner The runner to add them to.
+     */
+    public static void register(BenchmarkRunner runner) {
+        runner.add("RuleBenchmarks.boardMovePiece", RuleBenchmarks::boardMovePiece);
+        runner.add("RuleBenchmarks.pieceCanCapture", RuleBenchmarks::pieceCanCapture);
+        runner.add("RuleBenchmarks.lionLakeJump", RuleBenchmarks::lionLakeJump);
+        runner.add("RuleBenchmarks.modelMovePiece", RuleBenchmarks::modelMovePiece);
+        runner.add("RuleBenchmarks.hasPieceReachedHomeBase", RuleBenchmarks::hasPieceReachedHomeBase);
+    }
+
+    /**
+     * Board.movePiece: Player 1's Dog steps between (5, 1) and (5, 2).
+     */
+    private static BenchmarkRunner.Operation boardMovePiece() {
+        Board board = new Board();
+        Piece dog = board.getSquare(5, 1).getPiece();
+        MoveResult result = new MoveResult();
+        int[] step = {0};
+        return () -> {
+            result.reset();
+            return board.movePiece(dog, 5, (step[0]++ & 1) == 0 ? 2 : 1, result) ? 1 : 0;
+        };
+    }
+
+    /**
+     * Piece.canCapture: every attacker against every defender, weakened or not.
+     */
+    private static BenchmarkRunner.Operation pieceCanCapture() {
+        Board board = new Board();
+        List<Piece> pieces = new ArrayList<>();
+        for (boolean weakened : new boolean[]{false, true}) {
+            for (Player player : new Player[]{board.getPlayer1(), board.getPlayer2()}) {
+                pieces.add(new Elephant(0, 0, player));
+                pieces.add(new Lion(0, 0, player));
+                pieces.add(new Tiger(0, 0, player));
+                pieces.add(new Leopard(0, 0, player));
+                pieces.add(new Wolf(0, 0, player));
+                pieces.add(new Dog(0, 0, player));
+                pieces.add(new Cat(0, 0, player));
+                pieces.add(new Rat(0, 0, player));
+            }
+            if (weakened) {
+                for (int i = pieces.size() - 16; i < pieces.size(); i++) {
+                    pieces.get(i).setWeakened(true);
+                }
+            }
+        }
+        Piece[] attackers = new Piece[pieces.size() * pieces.size()];
+        Piece[] defenders = new Piece[attackers.length];
+        int pairs = 0;
+        for (Piece attacker : pieces) {
+            for (Piece defender : pieces) {
+                attackers[pairs] = attacker;
+                defenders[pairs] = defender;
+                pairs++;
+            }
+        }
+        int mask = Integer.highestOneBit(pairs) - 1;
+        int[] next = {0};
+        return () -> {
+            int i = next[0]++ & mask;
+            return attackers[i].canCapture(defenders[i]) ? 1 : 0;
+        };
+    }
+
+    /**
+     * Lion.move: Player 1's Lion jumps across the top lake between (1, 2) and (1, 6).
+     */
+    private static BenchmarkRunner.Operation lionLakeJump() {
+        Board board = new Board();
+        Piece lion = board.getSquare(6, 0).getPiece();
+        MoveResult result = new MoveResult();
+        board.movePiece(lion, 1, 2, result);
+        int[] step = {0};
+        return () -> {
+            result.reset();
+            return lion.move((step[0]++ & 1) == 0 ? 'D' : 'A', board, result) ? 1 : 0;
+        };
+    }
+
+    /**
+     * GameModel.movePiece, including its MoveResult reporting: both Dogs
+     * step sideways and back, so the turns alternate normally. The model records
+     * every move, so the game is restarted every GAME_LENGTH moves to keep the
+     * record bounded; the Dogs are back on their starting squares at that point.
+     */
+    private static BenchmarkRunner.Operation modelMovePiece() {
+        GameModel model = new GameModel();
+        model.initializeBoard(true);
+        int[][] moves = {
+                {5, 1, 5, 2}, // Player 1's Dog
+                {1, 7, 1, 6}, // Player 2's Dog
+                {5, 2, 5, 1},
+                {1, 6, 1, 7},
+        };
+        int[] step = {0};
+        return () -> {
+            if ((step[0] & (GAME_LENGTH - 1)) == 0) {
+                model.initializeBoard(true);
+            }
+            int[] move = moves[step[0]++ & 3];
+            return model.movePiece(move[0], move[1], move[2], move[3]).isAccepted() ? 1 : 0;
+        };
+    }
+
+    /**
+     * GameModel.hasPieceReachedHomeBase on the starting position.
+     */
+    private static BenchmarkRunner.Operation hasPieceReachedHomeBase() {
+        GameModel model = new GameModel();
+        model.initializeBoard(true);
+        return () -> model.hasPieceReachedHomeBase() ? 1 : 0;
+    }
+}
@@ -0,0 +1,45 @@
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+
+/**
+ * Benchmarks of the Swing view, painted into an offscreen image without showing a window.
+ * They are skipped when no display is available.
+ */
+public class ViewBenchmarks {
+
+    /**
+     * Registers the view benchmarks.
+     *
+     * @param runner The runner to add them to.
+     */
+    public static void register(BenchmarkRunner runner) {
+        if (GraphicsEnvironment.isHeadless()) {
+            System.out.println("Headless environment: skipping ViewBenchmarks");
+            return;
+        }
+        runner.add("ViewBenchmarks.updateBoard", ViewBenchmarks::updateBoard);
+    }
+
+    /**
+     * GameView.updateBoard followed by a paint of the whole window into an image.
+     */
+    private static BenchmarkRunner.Operation updateBoard() {
+        GameModel model = new GameModel();
+        model.initializeBoard(true);
+        GameController controller = new GameController(model);
+        GameView view = controller.getView();
+        Container content = view.getContentPane();
+        view.validate();
+        BufferedImage image = new BufferedImage(Math.max(1, content.getWidth()), Math.max(1, content.getHeight()),
+                BufferedImage.TYPE_INT_ARGB);
+        return () -> {
+            view.updateBoard(model);
+            Graphics2D g = image.createGraphics();
+            content.paintAll(g);
+            g.dispose();
+            return image.getRGB(0, 0);
+        };
+    }
+}
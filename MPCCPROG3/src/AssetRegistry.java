@@ -0,0 +1,150 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * Loads the images in the assets folder once for the whole program. The title screen
+ * calls preload, which decodes every PNG on a pool of background threads while the
+ * title fades in; screens then get the decoded images from memory, so opening a window
+ * does not wait on the disk. An image asked for before its background decode started
+ * is decoded on the calling thread instead of waiting in the queue.
+ *
+ * The pixel font is parsed by the same pool, through FontRegistry.
+ *
+ * Images are converted to the screen's native format when they are decoded, which
+ * makes them faster to draw than the format the PNG decoder produces.
+ */
+public final class AssetRegistry {
+    private static final String ASSET_DIR = "assets";
+    private static final Map<String, FutureTask<BufferedImage>> images = new ConcurrentHashMap<>(); // Keyed by path
+    private static ExecutorService pool;
+
+    private AssetRegistry() {
+    }
+
+    /**
+     * Starts decoding every image under the assets folder in the background.
+     * Calling it again has no effect.
+     */
+    public static synchronized void preload() {
+        if (pool != null) {
+            return;
+        }
+        pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader");
+            thread.setDaemon(true); // Never keeps the program alive
+            return thread;
+        });
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(Paths.get(ASSET_DIR))) {
+            files = walk.filter(path -> path.toString().endsWith(".png")).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        for (Path file : files) {
+            // Use the same separators as the paths the screens ask for
+            pool.execute(task(file.toString().replace(File.separatorChar, '/')));
+        }
+        pool.execute(() -> FontRegistry.getPixelFont(12f)); // Parse the font file off the EDT as well
+        pool.shutdown(); // The threads end once the queue is drained
+    }
+
+    /**
+     * Gets an image, decoding it now if it has not been loaded yet.
+     *
+     * @param path The path of the image, such as "assets/start.png".
+     * @return The image. A missing or unreadable file gives a 1x1 transparent image.
+     */
+    public static BufferedImage getImage(String path) {
+        FutureTask<BufferedImage> task = task(path);
+        task.run(); // Does nothing if the image is already decoded or being decoded
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return placeholder();
+        } catch (ExecutionException e) {
+            return placeholder();
+        }
+    }
+
+    /**
+     * Gets an image as an icon.
+     *
+     * @param path The path of the image, such as "assets/start.png".
+     * @return An icon of the image.
+     */
+    public static ImageIcon getIcon(String path) {
+        return new ImageIcon(getImage(path));
+    }
+
+    /**
+     * Gets the decoding task of an image, creating it on first use.
+     *
+     * @param path The path of the image.
+     * @return The task, shared by all callers.
+     */
+    private static FutureTask<BufferedImage> task(String path) {
+        return images.computeIfAbsent(path, key -> new FutureTask<>(() -> decode(key)));
+    }
+
+    /**
+     * Reads an image file and converts it to the screen's format.
+     *
+     * @param path The path of the image.
+     * @return The image.
+     */
+    private static BufferedImage decode(String path) {
+        BufferedImage source;
+        try {
+            source = ImageIO.read(new File(path));
+        } catch (IOException e) {
+            source = null;
+        }
+        if (source == null) {
+            System.out.println("Error loading image " + path);
+            return placeholder();
+        }
+
+        BufferedImage image;
+        if (GraphicsEnvironment.isHeadless()) {
+            image = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        } else {
+            image = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                    .createCompatibleImage(source.getWidth(), source.getHeight(), Transparency.TRANSLUCENT);
+        }
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Src); // Copy the pixels exactly, including translucent ones
+        g.drawImage(source, 0, 0, null);
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Creates the image used in place of a missing file.
+     *
+     * @return A 1x1 transparent image.
+     */
+    private static BufferedImage placeholder() {
+        return new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    }
+}
@@ -16,6 +16,7 @@ public class Board {
     private Square[][] grid;
     private List<Trap> traps;
     private List<Lake> lakes;
+    private final Position position; // Bitboard mirror of the grid used for fast queries
 
     /**
      * Constructs a new Board instance and initializes its layout and pieces.
@@ -24,6 +25,7 @@ public class Board {
         grid = new Square[ROWS][COLS];
         traps = new ArrayList<>();
         lakes = new ArrayList<>();
+        position = new Position();
 
         player1 = new Player("Player 1", 1); // Player 1 with ID 1
         player2 = new Player("Player 2", 2); // Player 2 with ID 2
@@ -108,6 +110,77 @@ public class Board {
         placePiece(new Rat(0, 6, player2), 0, 6);
     }
 
+    /**
+     * Replaces the pieces, weakened flags and den holders with those of a position,
+     * for example one read with PositionNotation.
+     *
+     * @param source The position to copy.
+     */
+    public void setPosition(Position source) {
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLS; j++) {
+                grid[i][j].removePiece();
+            }
+        }
+        player1.getPieces().clear();
+        player2.getPieces().clear();
+        position.clear();
+
+        for (int square = 0; square < Position.SQUARES; square++) {
+            int code = source.pieceAt(square);
+            if (code == Position.EMPTY) {
+                continue;
+            }
+            int x = Position.row(square);
+            int y = Position.col(square);
+            Piece piece = createPiece(Position.typeOf(code), x, y,
+                    Position.sideOf(code) == Position.PLAYER1 ? player1 : player2);
+            placePiece(piece, x, y);
+            if (source.isWeakened(square)) {
+                piece.setWeakened(true);
+                position.setWeakened(square, true);
+            }
+        }
+
+        for (int den = Position.PLAYER1; den <= Position.PLAYER2; den++) {
+            int owner = source.denOwner(den);
+            int denSquare = Position.DEN_SQUARE[den];
+            grid[Position.row(denSquare)][Position.col(denSquare)].setHomeBase(owner == Position.PLAYER1 ? player1 : player2);
+            position.setDenOwner(den, owner);
+        }
+        position.setSideToMove(source.sideToMove());
+    }
+
+    /**
+     * Creates a piece of a given type.
+     *
+     * @param type   The piece type index.
+     * @param x      The row index.
+     * @param y      The column index.
+     * @param player The owner.
+     * @return The new piece.
+     */
+    private static Piece createPiece(int type, int x, int y, Player player) {
+        switch (Piece.PieceType.values()[type]) {
+            case Elephant:
+                return new Elephant(x, y, player);
+            case Lion:
+                return new Lion(x, y, player);
+            case Tiger:
+                return new Tiger(x, y, player);
+            case Leopard:
+                return new Leopard(x, y, player);
+            case Wolf:
+                return new Wolf(x, y, player);
+            case Dog:
+                return new Dog(x, y, player);
+            case Cat:
+                return new Cat(x, y, player);
+            default:
+                return new Rat(x, y, player);
+        }
+    }
+
     /**
      * Retrieves the square at the given coordinates.
      *
@@ -138,6 +211,7 @@ public class Board {
 
         square.setPiece(piece);
         piece.setPosition(x, y);
+        position.put(Position.square(x, y), sideOf(piece), piece.getType().ordinal());
 
         piece.getPlayer().getPieces().add(piece);
 
@@ -146,45 +220,42 @@ public class Board {
 
     /**
      * Moves a piece to the specified coordinates if valid.
+     * The outcome is recorded in the result, which the caller resets beforehand.
      *
      * @param piece The piece to be moved.
      * @param newX The target row index.
      * @param newY The target column index.
+     * @param result Receives the outcome of the move.
      * @return true if the move was successful, false otherwise.
      */
-    public boolean movePiece(Piece piece, int newX, int newY) {
+    public boolean movePiece(Piece piece, int newX, int newY, MoveResult result) {
         Square currentSquare = getSquare(piece.getX(), piece.getY());
         Square destinationSquare = getSquare(newX, newY);
-        StringBuilder message = new StringBuilder();
+        result.setSquares(piece.getX(), piece.getY(), newX, newY);
+        result.setMover(piece);
 
         //make sure move is in board
         if (currentSquare == null || destinationSquare == null) {
-            message.append("Invalid move: Out of bounds.");
-            System.out.println(message.toString());
-            return false;
+            return result.reject(MoveResult.Rejection.OUT_OF_BOUNDS);
         }
 
         // Prevent a player from moving onto their own home base
         if ((piece.getPlayer().getId() == 1 && newX == 3 && newY == 0) ||  // Player 1's home base
                 (piece.getPlayer().getId() == 2 && newX == 3 && newY == 8)) {  // Player 2's home base
-            message.append("You cannot land on your own home base!");
-            System.out.println(message.toString());
-            return false;
+            return result.reject(MoveResult.Rejection.OWN_DEN);
         }
 
         // Special case: Check for rat-vs-rat capture first
-        if (piece instanceof Rat && destinationSquare.isOccupied() && destinationSquare.getPiece() instanceof Rat) {
+        if (piece.getType() == Piece.PieceType.Rat && destinationSquare.isOccupied()
+                && destinationSquare.getPiece().getType() == Piece.PieceType.Rat) {
             Piece destinationPiece = destinationSquare.getPiece();
             if (piece.getPlayer() != destinationPiece.getPlayer()) {
                 // Allow rat-vs-rat capture regardless of lake
+                result.setCaptured(destinationPiece);
                 destinationPiece.capture(this);
-                message.append(destinationPiece.getName()).append(" of Player ").append(destinationPiece.getPlayer().getId()).append(" has been captured.");
-                System.out.println(message.toString());
-                
+
                 // Move the piece
-                currentSquare.removePiece();
-                destinationSquare.setPiece(piece);
-                piece.setPosition(newX, newY);
+                relocate(piece, currentSquare, destinationSquare);
                 return true;
             }
         }
@@ -192,11 +263,9 @@ public class Board {
         // Check if the destination is a lake and if the piece can cross it
         if (destinationSquare.getTerrain() instanceof Lake) {
             Lake lake = (Lake) destinationSquare.getTerrain();
-            if (!(piece instanceof Rat)) {  // Skip lake check for Rats
+            if (piece.getType() != Piece.PieceType.Rat) {  // Skip lake check for Rats
                 if (!lake.canCross(piece)) {
-                    message.append(piece.getName()).append(" cannot cross or land on a lake.");
-                    System.out.println(message.toString());
-                    return false;
+                    return result.reject(MoveResult.Rejection.LAKE);
                 }
             }
         }
@@ -204,27 +273,25 @@ public class Board {
         // Check if the destination square is occupied
         if (destinationSquare.isOccupied()) {
             Piece destinationPiece = destinationSquare.getPiece();
+            result.setCaptured(destinationPiece);
             if (piece.canCapture(destinationPiece)) {
-                message.append(destinationPiece.getName()).append(" of Player ").append(destinationPiece.getPlayer().getId()).append(" has been captured.");
-                System.out.println(message.toString());
                 destinationPiece.capture(this); // Pass the board instance
             } else {
-                message.append("Cannot capture ").append(destinationPiece.getName()).append(".");
-                System.out.println(message.toString());
-                return false;
+                return result.reject(MoveResult.Rejection.CANNOT_CAPTURE);
             }
         }
 
         // Move the piece
-        currentSquare.removePiece();
-        destinationSquare.setPiece(piece);
-        piece.setPosition(newX, newY);
+        relocate(piece, currentSquare, destinationSquare);
 
         // Check if the piece landed on a home base
         if (destinationSquare.isHomeBase(player1) || destinationSquare.isHomeBase(player2)) {
-            message.append(String.format("%s reached the home base at (%d, %d)!", piece.getName(), newX + 1, newY + 1));
-            System.out.println(message.toString());
+            result.setDenReached();
             destinationSquare.setHomeBase(piece.getPlayer()); // Assign the home base to the new player
+            position.setDenOwner(newY == 0 ? Position.PLAYER1 : Position.PLAYER2, sideOf(piece));
+            // A den is not a trap, so a piece weakened on the trap next to it recovers
+            piece.setWeakened(false);
+            position.setWeakened(Position.square(newX, newY), false);
             return true; // Signal that home base was captured
         }
 
@@ -237,17 +304,14 @@ public class Board {
             if ((piece.getPlayer().getId() == 1 && isPlayer2Trap) || 
                 (piece.getPlayer().getId() == 2 && isPlayer1Trap)) {
                 piece.setWeakened(true);
-                message.append(piece.getName()).append(" is weakened by a trap.");
-                System.out.println(message.toString());
             } else {
                 piece.setWeakened(false);
             }
         } else {
             piece.setWeakened(false);
         }
-
-        message.append(String.format("%s moved to (%d, %d)", piece.getName(), newX + 1, newY + 1));
-        System.out.println(message.toString());
+        position.setWeakened(Position.square(newX, newY), piece.isWeakened());
+        result.setWeakened(piece.isWeakened());
 
         return true;
     }
@@ -260,15 +324,63 @@ public class Board {
      * @return true if the player has at least one piece left, false otherwise.
      */
     public boolean hasPiecesLeft(int playerId) {
-        for (int i = 0; i < 7; i++) {
-            for (int j = 0; j < 9; j++) {
-                Square square = getSquare(i, j);
-                if (square != null && square.isOccupied() && square.getPiece().getPlayer().getId() == playerId) {
-                    return true; // Found at least one piece, player is still in the game
-                }
-            }
+        return position.hasPiecesLeft(playerId - 1);
+    }
+
+    /**
+     * Moves a piece between two squares, keeping the bitboard position in sync.
+     *
+     * @param piece The piece to be moved.
+     * @param from The square the piece leaves.
+     * @param to The square the piece lands on.
+     */
+    private void relocate(Piece piece, Square from, Square to) {
+        from.removePiece();
+        to.setPiece(piece);
+        piece.setPosition(to.getX(), to.getY());
+        position.move(Position.square(from.getX(), from.getY()), Position.square(to.getX(), to.getY()));
+    }
+
+    /**
+     * Removes a captured piece from the bitboard position.
+     *
+     * @param piece The captured piece.
+     */
+    void removeCapturedPiece(Piece piece) {
+        int square = Position.square(piece.getX(), piece.getY());
+        int code = position.pieceAt(square);
+        if (code != Position.EMPTY && Position.sideOf(code) == sideOf(piece)) {
+            position.remove(square);
         }
-        return false; // No pieces left for this player
+    }
+
+    /**
+     * Gets the side index of a piece's owner in the bitboard position.
+     *
+     * @param piece The piece.
+     * @return The side index of the owner.
+     */
+    private static int sideOf(Piece piece) {
+        return piece.getPlayer().getId() - 1;
+    }
+
+    /**
+     * Sets the side to move in the bitboard position. The grid itself has no notion
+     * of turns, so GameModel sets it after every move.
+     *
+     * @param side The side index to move.
+     */
+    public void setSideToMove(int side) {
+        position.setSideToMove(side);
+    }
+
+    /**
+     * Retrieves the bitboard position kept in sync with the board.
+     *
+     * @return The position.
+     */
+    public Position getPosition() {
+        return position;
     }
 
     /**
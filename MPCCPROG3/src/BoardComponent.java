@@ -0,0 +1,250 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import javax.swing.ImageIcon;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+/**
+ * The game board as one component. Each square shows a tile image (usually a cached
+ * composite from SpriteCache) over a checkerboard color, and the selected square has
+ * a colored outline. Setting a tile repaints only that square, and only if the tile
+ * changed, so a move repaints the two squares it touched rather than the whole board.
+ * Mouse clicks are mapped back to squares and reported to a SquareListener.
+ */
+public class BoardComponent extends JComponent {
+    private static final long serialVersionUID = 1L;
+    public static final int ROWS = 7;
+    public static final int COLS = 9;
+    private static final int SELECTION_STROKE = 3; // Width of the selection outline in pixels
+
+    /**
+     * Receives clicks on the squares of the board.
+     */
+    public interface SquareListener {
+        /**
+         * Called when a square is clicked.
+         *
+         * @param row The row of the square.
+         * @param col The column of the square.
+         */
+        void squareClicked(int row, int col);
+    }
+
+    private final ImageIcon[] tiles = new ImageIcon[ROWS * COLS]; // Indexed by row * COLS + col
+    private final Color lightColor;
+    private final Color darkColor;
+    private SquareListener listener;
+    private int selectedRow = -1;
+    private int selectedCol = -1;
+    private Color selectionColor;
+    private int pressedRow = -1; // Square where the mouse button went down
+    private int pressedCol = -1;
+
+    /**
+     * Constructs an empty board.
+     *
+     * @param lightColor The background of squares where row + col is even.
+     * @param darkColor  The background of the other squares.
+     */
+    public BoardComponent(Color lightColor, Color darkColor) {
+        this.lightColor = lightColor;
+        this.darkColor = darkColor;
+        setOpaque(true);
+        setPreferredSize(new Dimension(COLS * 80, ROWS * 80));
+
+        // A click is a press and release on the same square, like a button
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (SwingUtilities.isLeftMouseButton(e)) {
+                    pressedRow = rowAt(e.getY());
+                    pressedCol = colAt(e.getX());
+                }
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (SwingUtilities.isLeftMouseButton(e) && pressedRow != -1 && pressedCol != -1
+                        && rowAt(e.getY()) == pressedRow && colAt(e.getX()) == pressedCol && listener != null) {
+                    listener.squareClicked(pressedRow, pressedCol);
+                }
+                pressedRow = -1;
+                pressedCol = -1;
+            }
+        });
+    }
+
+    /**
+     * Sets the listener for clicks on squares.
+     *
+     * @param listener The listener.
+     */
+    public void setSquareListener(SquareListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the image of a square, repainting the square if the image changed.
+     *
+     * @param row  The row of the square.
+     * @param col  The column of the square.
+     * @param tile The image, sized to the cell, or null for the plain background.
+     */
+    public void setTile(int row, int col, ImageIcon tile) {
+        int index = row * COLS + col;
+        if (tiles[index] != tile) {
+            tiles[index] = tile;
+            repaintSquare(row, col);
+        }
+    }
+
+    /**
+     * Outlines a square as selected, clearing any previous selection.
+     *
+     * @param row   The row of the square.
+     * @param col   The column of the square.
+     * @param color The outline color.
+     */
+    public void setSelection(int row, int col, Color color) {
+        clearSelection();
+        selectedRow = row;
+        selectedCol = col;
+        selectionColor = color;
+        repaintSquare(row, col);
+    }
+
+    /**
+     * Removes the selection outline.
+     */
+    public void clearSelection() {
+        if (selectedRow != -1) {
+            repaintSquare(selectedRow, selectedCol);
+            selectedRow = -1;
+            selectedCol = -1;
+        }
+    }
+
+    /**
+     * Gets the width of a square.
+     *
+     * @return The width in pixels.
+     */
+    public int getCellWidth() {
+        return getWidth() / COLS;
+    }
+
+    /**
+     * Gets the height of a square.
+     *
+     * @return The height in pixels.
+     */
+    public int getCellHeight() {
+        return getHeight() / ROWS;
+    }
+
+    /**
+     * Gets the left edge of the grid. Leftover pixels are split evenly on both sides.
+     *
+     * @return The x coordinate of column 0.
+     */
+    private int gridX() {
+        return (getWidth() - getCellWidth() * COLS) / 2;
+    }
+
+    /**
+     * Gets the top edge of the grid.
+     *
+     * @return The y coordinate of row 0.
+     */
+    private int gridY() {
+        return (getHeight() - getCellHeight() * ROWS) / 2;
+    }
+
+    /**
+     * Finds the row under a point.
+     *
+     * @param y The y coordinate in the component.
+     * @return The row, or -1 if the point is outside the grid.
+     */
+    public int rowAt(int y) {
+        int cell = getCellHeight();
+        int offset = y - gridY();
+        return cell > 0 && offset >= 0 && offset < cell * ROWS ? offset / cell : -1;
+    }
+
+    /**
+     * Finds the column under a point.
+     *
+     * @param x The x coordinate in the component.
+     * @return The column, or -1 if the point is outside the grid.
+     */
+    public int colAt(int x) {
+        int cell = getCellWidth();
+        int offset = x - gridX();
+        return cell > 0 && offset >= 0 && offset < cell * COLS ? offset / cell : -1;
+    }
+
+    /**
+     * Schedules a repaint of one square.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     */
+    private void repaintSquare(int row, int col) {
+        int width = getCellWidth();
+        int height = getCellHeight();
+        repaint(gridX() + col * width, gridY() + row * height, width, height);
+    }
+
+    /**
+     * Paints the squares that intersect the clip area.
+     *
+     * @param g The graphics context.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getCellWidth();
+        int height = getCellHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        int x0 = gridX();
+        int y0 = gridY();
+
+        // Fill the margins around the grid
+        g.setColor(darkColor);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        // Only the squares inside the clip, which is usually one square after a move
+        int firstRow = Math.max(0, (clip.y - y0) / height);
+        int lastRow = Math.min(ROWS - 1, (clip.y + clip.height - 1 - y0) / height);
+        int firstCol = Math.max(0, (clip.x - x0) / width);
+        int lastCol = Math.min(COLS - 1, (clip.x + clip.width - 1 - x0) / width);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int x = x0 + col * width;
+                int y = y0 + row * height;
+                g.setColor((row + col) % 2 == 0 ? lightColor : darkColor);
+                g.fillRect(x, y, width, height);
+                ImageIcon tile = tiles[row * COLS + col];
+                if (tile != null) {
+                    g.drawImage(tile.getImage(), x, y, width, height, null);
+                }
+                if (row == selectedRow && col == selectedCol) {
+                    g.setColor(selectionColor);
+                    for (int i = 0; i < SELECTION_STROKE; i++) {
+                        g.drawRect(x + i, y + i, width - 1 - 2 * i, height - 1 - 2 * i);
+                    }
+                }
+            }
+        }
+    }
+}
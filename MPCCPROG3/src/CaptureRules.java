@@ -0,0 +1,100 @@
+/**
+ * Capture rules as a lookup table, so that deciding a capture is one array load
+ * instead of a chain of type checks and strength comparisons.
+ *
+ * The table is indexed by (attacker type, defender type, attacker weakened,
+ * defender weakened, attacker on a lake, defender on a lake), 1024 entries in all:
+ * - A Rat in a lake can only capture the other Rat
+ * - Only the Rat can reach a piece standing in a lake
+ * - Any piece can capture a weakened piece
+ * - The Rat captures the Elephant, even while weakened
+ * - A weakened piece cannot capture anything else
+ * - Otherwise a piece captures an equal or weaker piece
+ */
+public final class CaptureRules {
+    private static final boolean[] TABLE = new boolean[Position.PIECE_TYPES * Position.PIECE_TYPES * 16];
+
+    static {
+        for (int attacker = 0; attacker < Position.PIECE_TYPES; attacker++) {
+            for (int defender = 0; defender < Position.PIECE_TYPES; defender++) {
+                for (int flags = 0; flags < 16; flags++) {
+                    boolean attackerWeak = (flags & 8) != 0;
+                    boolean defenderWeak = (flags & 4) != 0;
+                    boolean attackerLake = (flags & 2) != 0;
+                    boolean defenderLake = (flags & 1) != 0;
+                    TABLE[index(attacker, defender, attackerWeak, defenderWeak, attackerLake, defenderLake)] =
+                            rule(attacker, defender, attackerWeak, defenderWeak, attackerLake, defenderLake);
+                }
+            }
+        }
+    }
+
+    private CaptureRules() {
+    }
+
+    /**
+     * Checks if a capture is allowed. The pieces are assumed to belong to different players.
+     *
+     * @param attacker     The attacking piece type index.
+     * @param defender     The defending piece type index.
+     * @param attackerWeak True if the attacker is weakened.
+     * @param defenderWeak True if the defender is weakened.
+     * @param attackerLake True if the attacker stands in a lake.
+     * @param defenderLake True if the defender stands in a lake.
+     * @return True if the attacker may capture the defender.
+     */
+    public static boolean canCapture(int attacker, int defender, boolean attackerWeak, boolean defenderWeak,
+                                     boolean attackerLake, boolean defenderLake) {
+        return TABLE[index(attacker, defender, attackerWeak, defenderWeak, attackerLake, defenderLake)];
+    }
+
+    /**
+     * Computes the table index of a capture.
+     *
+     * @param attacker     The attacking piece type index.
+     * @param defender     The defending piece type index.
+     * @param attackerWeak True if the attacker is weakened.
+     * @param defenderWeak True if the defender is weakened.
+     * @param attackerLake True if the attacker stands in a lake.
+     * @param defenderLake True if the defender stands in a lake.
+     * @return The index into the table.
+     */
+    private static int index(int attacker, int defender, boolean attackerWeak, boolean defenderWeak,
+                             boolean attackerLake, boolean defenderLake) {
+        return (attacker << 7) | (defender << 4)
+                | (attackerWeak ? 8 : 0) | (defenderWeak ? 4 : 0)
+                | (attackerLake ? 2 : 0) | (defenderLake ? 1 : 0);
+    }
+
+    /**
+     * Decides one table entry from the rules.
+     *
+     * @param attacker     The attacking piece type index.
+     * @param defender     The defending piece type index.
+     * @param attackerWeak True if the attacker is weakened.
+     * @param defenderWeak True if the defender is weakened.
+     * @param attackerLake True if the attacker stands in a lake.
+     * @param defenderLake True if the defender stands in a lake.
+     * @return True if the capture is allowed.
+     */
+    private static boolean rule(int attacker, int defender, boolean attackerWeak, boolean defenderWeak,
+                                boolean attackerLake, boolean defenderLake) {
+        if (attackerLake) {
+            return defender == Position.RAT;
+        }
+        if (defenderLake && attacker != Position.RAT) {
+            return false;
+        }
+        if (defenderWeak) {
+            return true;
+        }
+        if (attacker == Position.RAT && defender == Position.ELEPHANT) {
+            return true;
+        }
+        if (attackerWeak) {
+            return false;
+        }
+        // Lower ordinal means higher strength
+        return attacker <= defender;
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Computer opponent that picks moves for one player with the SearchEngine.
+ * It searches a copy of the board's bitboard position, so the Board itself
+ * is never touched while the engine is thinking.
+ */
+public class ComputerPlayer {
+    private static final int TABLE_SIZE_MB = 64;      // Transposition table size
+    private static final long THINK_TIME_MS = 1000;   // Time budget per move
+    private static final int MAX_DEFAULT_THREADS = 4; // Leave cores free for the user interface
+
+    private final int playerId;
+    private final SearchEngine engine;
+    private final Position position = new Position();
+
+    /**
+     * Constructs a computer opponent that searches with up to four threads.
+     *
+     * @param playerId The ID of the player it moves for (1 or 2).
+     */
+    public ComputerPlayer(int playerId) {
+        this(playerId, Math.min(MAX_DEFAULT_THREADS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Constructs a computer opponent with a given number of search threads.
+     *
+     * @param playerId The ID of the player it moves for (1 or 2).
+     * @param threads  The number of search threads, at least 1.
+     */
+    public ComputerPlayer(int playerId, int threads) {
+        this.playerId = playerId;
+        this.engine = new SearchEngine(new TranspositionTable(TABLE_SIZE_MB), threads);
+    }
+
+    /**
+     * Gets the ID of the player the computer moves for.
+     *
+     * @return The player ID (1 or 2).
+     */
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Chooses a move for the computer's player. Safe to call from a background thread,
+     * since the snapshot is immutable.
+     *
+     * @param snapshot The current game state.
+     * @return The packed move, or Move.NONE if no legal move exists.
+     */
+    public int chooseMove(PositionSnapshot snapshot) {
+        snapshot.copyTo(position);
+        position.setSideToMove(playerId - 1);
+        return engine.search(position, THINK_TIME_MS, 0).getBestMove();
+    }
+
+    /**
+     * Stops a search that is still running.
+     */
+    public void stop() {
+        engine.stop();
+    }
+}
@@ -0,0 +1,66 @@
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.GraphicsEnvironment;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The game's pixel font, shared by all screens. The TrueType file is parsed and
+ * registered once per program, and each size and style derived from it is created
+ * once and then reused, so building a window or a dialog costs a map lookup per font.
+ * If the file cannot be loaded, Arial is used instead.
+ */
+public final class FontRegistry {
+    private static final String PIXEL_FONT_FILE = "assets/fonts/Pokemon Classic.ttf";
+    private static final Map<Long, Font> derived = new ConcurrentHashMap<>(); // Keyed by style and size
+    private static Font pixelFont; // Parsed font, at its default size
+
+    private FontRegistry() {
+    }
+
+    /**
+     * Gets the pixel font in plain style.
+     *
+     * @param size The point size.
+     * @return The font.
+     */
+    public static Font getPixelFont(float size) {
+        return getPixelFont(Font.PLAIN, size);
+    }
+
+    /**
+     * Gets the pixel font in a given style.
+     *
+     * @param style The style, such as Font.PLAIN or Font.BOLD.
+     * @param size  The point size.
+     * @return The font.
+     */
+    public static Font getPixelFont(int style, float size) {
+        long key = ((long) style << 32) | Float.floatToIntBits(size);
+        Font font = derived.get(key);
+        if (font == null) {
+            font = derived.computeIfAbsent(key, k -> base().deriveFont(style, size));
+        }
+        return font;
+    }
+
+    /**
+     * Loads and registers the font file on first use.
+     *
+     * @return The parsed font, or Arial if the file could not be loaded.
+     */
+    private static synchronized Font base() {
+        if (pixelFont == null) {
+            try {
+                pixelFont = Font.createFont(Font.TRUETYPE_FONT, new File(PIXEL_FONT_FILE));
+                GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(pixelFont);
+            } catch (FontFormatException | IOException e) {
+                e.printStackTrace();
+                pixelFont = new Font("Arial", Font.PLAIN, 12);
+            }
+        }
+        return pixelFont;
+    }
+}
@@ -0,0 +1,493 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Store of many games with an index from position to the games that reached it.
+ * Everything lives in memory-mapped files, so a lookup touches only the pages it
+ * needs and archives far larger than the heap stay fast. Not thread-safe.
+ *
+ * An archive is three files next to each other:
+ * - base.jkd: the games in GameRecord format. A game never crosses a segment
+ *   boundary; the end of a segment is padded instead, so every game can be read
+ *   in place with a GameRecordReader over its segment
+ * - base.jkg: a header with the game count, end of data and index generation, then the
+ *   offset of each game
+ * - base.jki: an open-addressing hash table of postings (Zobrist key, game, ply, winner),
+ *   one per move played, filled in as each game is appended and doubled when half full.
+ *   A doubled table is written to a new file (base.1.jki, base.2.jki, ...) and the
+ *   header is switched to it, so a file is never replaced while it is mapped
+ */
+public class GameArchive implements Closeable {
+    public static final int DEFAULT_SEGMENT_SHIFT = 30; // 1 GB segments
+    public static final int MAX_INDEXED_PLY = 0xFFFF;   // Later moves of longer games are not indexed
+
+    private static final int GAMES_MAGIC = 0x4A4B4754; // "JKGT"
+    private static final int INDEX_MAGIC = 0x4A4B4958; // "JKIX"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;         // Keeps table entries aligned to segment boundaries
+    private static final int SLOT_SIZE = 16;           // Key, game, ply, winner, used flag
+    private static final int INITIAL_INDEX_BITS = 16;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final Path base;
+    private final int segmentShift;
+    private final MappedFile data;
+    private final MappedFile games;
+    private MappedFile index;
+    private int indexGeneration; // Number of times the index was doubled, which names its file
+    private int indexBits;       // Log2 of the number of index slots
+    private long postingCount;
+    private long gameCount;
+    private long dataEnd;      // Offset just past the last game
+
+    // Scratch state for append
+    private final Position position = new Position(1);
+    private final int[] scratch = new int[4];
+    private long[] keys = new long[256];
+
+    /**
+     * Opens an archive, creating its files if needed.
+     *
+     * @param base         The path of the archive files without extension.
+     * @param segmentShift The base-2 logarithm of the mapping segment size, from 12 to 30.
+     *                     It must be the same every time the archive is opened.
+     * @throws IOException If the files cannot be opened or are not an archive.
+     */
+    private GameArchive(Path base, int segmentShift) throws IOException {
+        if (segmentShift < 12 || segmentShift > 30) {
+            throw new IllegalArgumentException("Segment shift must be between 12 and 30");
+        }
+        this.base = base;
+        this.segmentShift = segmentShift;
+        data = new MappedFile(file(".jkd"), segmentShift);
+        games = new MappedFile(file(".jkg"), segmentShift);
+        indexGeneration = games.getInt(24);
+        index = new MappedFile(indexFile(indexGeneration), segmentShift);
+
+        if (games.getInt(0) == 0) {
+            // New archive
+            for (int i = 0; i < GameRecord.MAGIC.length; i++) {
+                data.putByte(i, GameRecord.MAGIC[i]);
+            }
+            data.putByte(GameRecord.MAGIC.length, GameRecord.VERSION);
+            dataEnd = GameRecord.FILE_HEADER_SIZE;
+            games.putInt(0, GAMES_MAGIC);
+            games.putInt(4, FORMAT_VERSION);
+            writeGamesHeader();
+            indexBits = INITIAL_INDEX_BITS;
+            initIndex(index, indexBits);
+        } else {
+            if (games.getInt(0) != GAMES_MAGIC || index.getInt(0) != INDEX_MAGIC) {
+                throw new IOException("Not a game archive: " + base);
+            }
+            gameCount = games.getLong(8);
+            dataEnd = games.getLong(16);
+            indexBits = index.getInt(8);
+            postingCount = index.getLong(16);
+            deleteOldIndexFiles();
+        }
+    }
+
+    /**
+     * Opens an archive with the default segment size, creating it if needed.
+     *
+     * @param base The path of the archive files without extension.
+     * @return The archive.
+     * @throws IOException If the files cannot be opened or are not an archive.
+     */
+    public static GameArchive open(Path base) throws IOException {
+        return new GameArchive(base, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * Opens an archive with a given segment size, creating it if needed.
+     *
+     * @param base         The path of the archive files without extension.
+     * @param segmentShift The base-2 logarithm of the segment size, from 12 to 30.
+     * @return The archive.
+     * @throws IOException If the files cannot be opened or are not an archive.
+     */
+    public static GameArchive open(Path base, int segmentShift) throws IOException {
+        return new GameArchive(base, segmentShift);
+    }
+
+    /**
+     * Gets the path of one of the archive files.
+     *
+     * @param extension The file extension.
+     * @return The path.
+     */
+    private Path file(String extension) {
+        return base.resolveSibling(base.getFileName() + extension);
+    }
+
+    /**
+     * Gets the path of one generation of the index file.
+     *
+     * @param generation The number of times the index was doubled.
+     * @return The path.
+     */
+    private Path indexFile(int generation) {
+        return file(generation == 0 ? ".jki" : "." + generation + ".jki");
+    }
+
+    /**
+     * Deletes the files of earlier index generations. A file that is still mapped
+     * cannot be deleted on some systems; it is left for the next open.
+     */
+    private void deleteOldIndexFiles() {
+        for (int generation = 0; generation < indexGeneration; generation++) {
+            deleteQuietly(indexFile(generation));
+        }
+    }
+
+    /**
+     * Deletes a file if it exists, ignoring errors.
+     *
+     * @param file The file.
+     */
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Still in use, try again next time
+        }
+    }
+
+    /**
+     * Writes the header of an empty index.
+     *
+     * @param target The index file.
+     * @param bits   Log2 of the number of slots.
+     */
+    private static void initIndex(MappedFile target, int bits) {
+        target.putInt(0, INDEX_MAGIC);
+        target.putInt(4, FORMAT_VERSION);
+        target.putInt(8, bits);
+        target.putLong(16, 0);
+    }
+
+    /**
+     * Stores the game count and end of data.
+     */
+    private void writeGamesHeader() {
+        games.putLong(8, gameCount);
+        games.putLong(16, dataEnd);
+    }
+
+    /**
+     * Appends the current game of a reader and indexes every position it reached.
+     *
+     * @param game A reader positioned on the game.
+     * @return The number of the new game.
+     * @throws IllegalArgumentException If the game has an illegal move or is larger than a segment.
+     */
+    public long append(GameRecordReader game) {
+        int length = game.getGameEnd() - game.getGameOffset();
+        long segmentSize = data.segmentSize();
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Game of " + length + " bytes does not fit in a segment");
+        }
+
+        // Replay first, so that an illegal game leaves the archive untouched
+        int plies = Math.min(game.getMoveCount(), MAX_INDEXED_PLY);
+        if (keys.length < plies) {
+            keys = new long[Math.max(plies, keys.length * 2)];
+        }
+        game.replay(position, 0, scratch);
+        for (int i = 0; i < game.getMoveCount(); i++) {
+            if (!game.playMove(position, i, scratch)) {
+                throw new IllegalArgumentException("Illegal move " + (i + 1) + " in game at offset " + game.getGameOffset());
+            }
+            if (i < plies) {
+                keys[i] = position.hash();
+            }
+        }
+
+        // Pad to the next segment rather than split the game
+        long offset = dataEnd;
+        long room = segmentSize - (offset & (segmentSize - 1));
+        if (length > room) {
+            offset += room;
+        }
+        game.copyGame(data.segment(offset, length), data.indexInSegment(offset));
+
+        long number = gameCount;
+        ensureIndexCapacity(postingCount + plies);
+        int winner = game.getWinner();
+        for (int i = 0; i < plies; i++) {
+            insert(index, indexBits, keys[i], number, i + 1, winner);
+        }
+        postingCount += plies;
+        index.putLong(16, postingCount);
+
+        games.putLong(HEADER_SIZE + number * 8, offset);
+        gameCount++;
+        dataEnd = offset + length;
+        writeGamesHeader();
+        return number;
+    }
+
+    /**
+     * Appends every game of a record file.
+     *
+     * @param recordFile A file in GameRecord format.
+     * @return The number of games appended.
+     * @throws IOException If the file cannot be read.
+     */
+    public int importFile(Path recordFile) throws IOException {
+        GameRecordReader reader = new GameRecordReader(GameRecordReader.map(recordFile));
+        int count = 0;
+        while (reader.next()) {
+            append(reader);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the home slot of a key.
+     *
+     * @param key  The position key.
+     * @param bits Log2 of the number of slots.
+     * @return The slot number.
+     */
+    private static long home(long key, int bits) {
+        return (key * GOLDEN) >>> (64 - bits);
+    }
+
+    /**
+     * Gets the file offset of a slot.
+     *
+     * @param slot The slot number.
+     * @return The offset.
+     */
+    private static long slotOffset(long slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    /**
+     * Adds a posting in the first free slot from the key's home slot.
+     *
+     * @param target The index file.
+     * @param bits   Log2 of the number of slots.
+     * @param key    The position key.
+     * @param game   The game number.
+     * @param ply    The number of moves played to reach the position.
+     * @param winner The result of the game.
+     */
+    private static void insert(MappedFile target, int bits, long key, long game, int ply, int winner) {
+        long mask = (1L << bits) - 1;
+        long slot = home(key, bits);
+        while (target.getByte(slotOffset(slot) + 15) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        long offset = slotOffset(slot);
+        target.putLong(offset, key);
+        target.putInt(offset + 8, (int) game);
+        target.putShort(offset + 12, ply);
+        target.putByte(offset + 14, winner);
+        target.putByte(offset + 15, 1);
+    }
+
+    /**
+     * Doubles the index until it stays at most half full with the given number of postings.
+     * The postings are rehashed into the file of the next index generation, which is
+     * written to disk before the header switches to it. If that fails, the archive keeps
+     * using the old index.
+     *
+     * @param postings The number of postings the index must hold.
+     */
+    private void ensureIndexCapacity(long postings) {
+        int bits = indexBits;
+        while (postings * 2 > (1L << bits)) {
+            bits++;
+        }
+        if (bits == indexBits) {
+            return;
+        }
+        int generation = indexGeneration + 1;
+        Path grown = indexFile(generation);
+        MappedFile target = null;
+        try {
+            Files.deleteIfExists(grown); // Left over from an interrupted grow
+            target = new MappedFile(grown, segmentShift);
+            initIndex(target, bits);
+            long slots = 1L << indexBits;
+            for (long slot = 0; slot < slots; slot++) {
+                long offset = slotOffset(slot);
+                if (index.getByte(offset + 15) != 0) {
+                    insert(target, bits, index.getLong(offset), index.getInt(offset + 8),
+                            index.getShort(offset + 12), index.getByte(offset + 14));
+                }
+            }
+            target.putLong(16, postingCount);
+            target.force();
+        } catch (IOException | RuntimeException e) {
+            if (target != null) {
+                closeQuietly(target);
+                deleteQuietly(grown); // Or by the next grow
+            }
+            throw new IllegalStateException("Cannot grow the position index", e);
+        }
+
+        // Switch to the new table, then drop the old one
+        games.putInt(24, generation);
+        games.force();
+        MappedFile old = index;
+        index = target;
+        indexBits = bits;
+        indexGeneration = generation;
+        closeQuietly(old);
+        deleteOldIndexFiles();
+    }
+
+    /**
+     * Closes a file, ignoring errors.
+     *
+     * @param file The file.
+     */
+    private static void closeQuietly(MappedFile file) {
+        try {
+            file.close();
+        } catch (IOException e) {
+            // Nothing left to do with it
+        }
+    }
+
+    /**
+     * Finds the games that reached a position.
+     *
+     * @param key      The position's Zobrist key, from Position.hash().
+     * @param postings Receives the postings, to read with postingGame, postingPly and postingWinner.
+     * @return The number of postings found; only the first postings.length are stored.
+     */
+    public int lookup(long key, long[] postings) {
+        long mask = (1L << indexBits) - 1;
+        long slot = home(key, indexBits);
+        int found = 0;
+        while (true) {
+            long offset = slotOffset(slot);
+            if (index.getByte(offset + 15) == 0) {
+                return found;
+            }
+            if (index.getLong(offset) == key) {
+                if (found < postings.length) {
+                    postings[found] = ((long) index.getInt(offset + 8) << 32)
+                            | ((long) index.getShort(offset + 12) << 8)
+                            | index.getByte(offset + 14);
+                }
+                found++;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Gets the game number of a posting.
+     *
+     * @param posting A posting from lookup.
+     * @return The game number.
+     */
+    public static long postingGame(long posting) {
+        return posting >>> 32;
+    }
+
+    /**
+     * Gets the ply of a posting.
+     *
+     * @param posting A posting from lookup.
+     * @return The number of moves played to reach the position.
+     */
+    public static int postingPly(long posting) {
+        return (int) (posting >>> 8) & 0xFFFF;
+    }
+
+    /**
+     * Gets the result of the game of a posting.
+     *
+     * @param posting A posting from lookup.
+     * @return The ID of the winning player, or 0 if the game did not finish.
+     */
+    public static int postingWinner(long posting) {
+        return (int) posting & 0xFF;
+    }
+
+    /**
+     * Reads a game in place.
+     *
+     * @param game The game number.
+     * @return A reader positioned on the game.
+     */
+    public GameRecordReader readGame(long game) {
+        if (game < 0 || game >= gameCount) {
+            throw new IllegalArgumentException("No game " + game);
+        }
+        long offset = games.getLong(HEADER_SIZE + game * 8);
+        int room = (int) (data.segmentSize() - data.indexInSegment(offset));
+        int length = (int) Math.min(room, dataEnd - offset); // The game ends within this range
+        ByteBuffer segment = data.segment(offset, length);
+        GameRecordReader reader = new GameRecordReader(segment, data.indexInSegment(offset));
+        reader.next();
+        return reader;
+    }
+
+    /**
+     * Gets the number of games.
+     *
+     * @return The number of games appended.
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Gets the number of indexed positions.
+     *
+     * @return The number of postings.
+     */
+    public long getPostingCount() {
+        return postingCount;
+    }
+
+    /**
+     * Writes all changes to disk and closes the files.
+     *
+     * @throws IOException If a file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        data.force();
+        games.force();
+        index.force();
+        data.close();
+        games.close();
+        index.close();
+    }
+
+    /**
+     * Imports record files into an archive and prints its size.
+     *
+     * @param args The archive path without extension, then the record files to import.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: GameArchive <archive> [record files to import...]");
+            return;
+        }
+        try (GameArchive archive = open(Paths.get(args[0]))) {
+            for (int i = 1; i < args.length; i++) {
+                long start = System.nanoTime();
+                int imported = archive.importFile(Paths.get(args[i]));
+                System.out.printf("Imported %d games from %s in %d ms%n", imported, args[i],
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+            System.out.println(archive.getGameCount() + " games, " + archive.getPostingCount() + " positions indexed");
+        }
+    }
+}
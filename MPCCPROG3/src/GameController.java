@@ -2,16 +2,39 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
 /**
  * The GameController class manages user input and game interactions
  * for the game. It gets keyboard inputs
- * and piece selection events to control game mechanics.
+ * and piece selection events to control game mechanics,
+ * and connects the headless GameModel to the Swing GameView.
  */
-public class GameController implements KeyListener {
+public class GameController implements KeyListener, GameListener {
+    // Appends finished games to the record file one at a time, off the event dispatch thread
+    private static final ExecutorService recordSaver = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "record-saver");
+        thread.setDaemon(true); // Never keeps the program alive
+        return thread;
+    });
+
     private GameModel model;
     private GameView view;
     private int selectedRow = -1, selectedCol = -1;
+    private ComputerPlayer computer;        // Computer opponent, or null for two human players
+    private boolean computerThinking = false; // Blocks human input while the computer searches
+    private byte[] savedRecord;             // Last finished game saved, so undo and redo do not save it twice
+    private boolean stopped = false;        // The window was closed; nothing more is played
 
     /**
      * Constructs a GameController and initializes the game view.
@@ -21,10 +44,30 @@ public class GameController implements KeyListener {
     public GameController(GameModel model) {
         this.model = model;
         this.view = new GameView(this);
+        model.setGameListener(this);
         view.addKeyListener(this);
         view.setFocusable(true);
         view.requestFocus();
         view.updateBoard(model);
+
+        // Closing the window, for example to start a new game, ends this game
+        view.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                stop();
+            }
+        });
+    }
+
+    /**
+     * Stops the game: a search still running is cut short and its move is dropped,
+     * and the computer does not start another.
+     */
+    private void stop() {
+        stopped = true;
+        if (computer != null) {
+            computer.stop();
+        }
     }
 
     /**
@@ -45,6 +88,16 @@ public class GameController implements KeyListener {
         return view;
     }
 
+    /**
+     * Lets the computer play for one of the players and starts its turn if it moves first.
+     *
+     * @param computer The computer opponent.
+     */
+    public void setComputerPlayer(ComputerPlayer computer) {
+        this.computer = computer;
+        playComputerTurnIfNeeded();
+    }
+
     /**
      * Handles user clicks on the game board, allowing selection of pieces
      * that belong to the current player.
@@ -53,8 +106,8 @@ public class GameController implements KeyListener {
      * @param col The column index of the clicked square.
      */
     public void handlePieceClick(int row, int col) {
-        // If game has ended, ignore clicks
-        if (model.isGameEnded()) {
+        // If game has ended or the computer is moving, ignore clicks
+        if (model.isGameEnded() || computerThinking) {
             return;
         }
 
@@ -95,8 +148,16 @@ public class GameController implements KeyListener {
      */
     @Override
     public void keyPressed(KeyEvent e) {
-        // If game has ended or no piece selected, ignore key presses
-        if (model.isGameEnded() || selectedRow == -1 || selectedCol == -1) {
+        // Ctrl+Z takes back a move and Ctrl+Y plays it again, also after the game has ended
+        if (e.isControlDown() && (e.getKeyCode() == KeyEvent.VK_Z || e.getKeyCode() == KeyEvent.VK_Y)) {
+            if (!computerThinking) {
+                stepHistory(e.getKeyCode() == KeyEvent.VK_Y);
+            }
+            return;
+        }
+
+        // If game has ended, the computer is moving or no piece selected, ignore key presses
+        if (model.isGameEnded() || computerThinking || selectedRow == -1 || selectedCol == -1) {
             return;
         }
 
@@ -120,77 +181,161 @@ public class GameController implements KeyListener {
                 return;
         }
 
-        // Check if we're trying to capture with a rat that's on a lake
+        // A Rat on land may only capture the Elephant or a weakened piece
         Square selectedSquare = model.getBoard().getSquare(selectedRow, selectedCol);
         Square targetSquare = model.getBoard().getSquare(newRow, newCol);
-
-        if (selectedSquare != null && selectedSquare.isOccupied() &&
-                targetSquare != null && targetSquare.isOccupied()) {
+        if (selectedSquare != null && selectedSquare.isOccupied()
+                && targetSquare != null && targetSquare.isOccupied()) {
             Piece selectedPiece = selectedSquare.getPiece();
             Piece targetPiece = targetSquare.getPiece();
-
-            // If the selected piece is a rat
-            if (selectedPiece.getName().equals("Rat")) {
-                // Check if it's on a lake first
-                if (selectedSquare.getTerrain() instanceof Lake &&
-                        ((model.isPlayerOneTurn() && targetPiece.getPlayer().getId() == 2) ||
-                                (!model.isPlayerOneTurn() && targetPiece.getPlayer().getId() == 1))) {
-                }
-                // If not on lake, check if trying to capture non-elephant and not weakened
-                else if (((model.isPlayerOneTurn() && targetPiece.getPlayer().getId() == 2) ||
-                        (!model.isPlayerOneTurn() && targetPiece.getPlayer().getId() == 1)) &&
-                        !targetPiece.getName().equals("Elephant") &&
-                        !targetPiece.isWeakened()) {  // Allow capture if piece is weakened
-                    view.addMoveToHistory("Cannot capture " + targetPiece.getName() + ".");
-                    return;
-                }
-            }
-        }
-
-        // Store the current status message
-        String previousStatus = model.getStatusMessage();
-
-        // Check if the destination is a lake and if the piece can cross it
-        Square destinationSquare = model.getBoard().getSquare(newRow, newCol);
-        if (destinationSquare != null && destinationSquare.getTerrain() instanceof Lake) {
-            if (selectedSquare != null && selectedSquare.isOccupied()) {
-                Piece piece = selectedSquare.getPiece();
-                Lake lake = (Lake) destinationSquare.getTerrain();
-                if (!lake.canCross(piece)) {
-                    String pieceName = piece.getName();
-                    view.addMoveToHistory(pieceName + " cannot cross or land on a lake.");
-                    return;
-                }
+            if (selectedPiece.getType() == Piece.PieceType.Rat
+                    && !(selectedSquare.getTerrain() instanceof Lake)
+                    && targetPiece.getPlayer().getId() != selectedPiece.getPlayer().getId()
+                    && targetPiece.getType() != Piece.PieceType.Elephant
+                    && !targetPiece.isWeakened()) {
+                view.addHistoryNote("Cannot capture " + targetPiece.getName() + ".");
+                return;
             }
         }
 
-        if (model.movePiece(selectedRow, selectedCol, newRow, newCol)) {
-            // Get the new status message which contains the console output
-            String newStatus = model.getStatusMessage();
+        // The model rejects all other illegal moves and reports why
+        applyMove(selectedRow, selectedCol, newRow, newCol);
+    }
 
-            // Format lake jumping messages differently
-            if (newStatus.contains("jumps over the lake")) {
-                String pieceName = newStatus.substring(0, newStatus.indexOf(" jumps"));
-                String landingCoords = newStatus.substring(newStatus.lastIndexOf("("));
-                view.addMoveToHistory(pieceName + " jumps over the lake and landed at " + landingCoords);
-            } else {
-                // Add the status message to history if it changed
-                if (!newStatus.equals(previousStatus)) {
-                    view.addMoveToHistory(newStatus);
-                }
-            }
+    /**
+     * Plays a move on the model and updates the move history and board.
+     *
+     * @param fromRow The row of the piece to move.
+     * @param fromCol The column of the piece to move.
+     * @param newRow The row to move the piece to.
+     * @param newCol The column to move the piece to.
+     */
+    private void applyMove(int fromRow, int fromCol, int newRow, int newCol) {
+        MoveResult result = model.movePiece(fromRow, fromCol, newRow, newCol);
+        view.addMoveToHistory(result);
 
+        if (result.isAccepted()) {
             view.clearSelection();
             selectedRow = -1;
             selectedCol = -1;
-            view.updateBoard(model);
-        } else {
-            // Move was invalid, add the error message to history
-            String errorMessage = model.getStatusMessage();
-            if (!errorMessage.isEmpty() && !errorMessage.equals(previousStatus)) {
-                view.addMoveToHistory(errorMessage);
+            view.updateSquares(model, result);
+            playComputerTurnIfNeeded();
+        }
+    }
+
+    /**
+     * Takes back the last move or plays again the last move taken back. Against the
+     * computer, its reply is stepped over as well so that it is the human's turn again.
+     *
+     * @param redo True to play a move again, false to take one back.
+     */
+    private void stepHistory(boolean redo) {
+        if (!(redo ? model.redo() : model.undo())) {
+            return;
+        }
+        if (computer != null && !model.isGameEnded()
+                && model.isPlayerOneTurn() == (computer.getPlayerId() == 1)) {
+            if (redo) {
+                model.redo();
+            } else {
+                model.undo();
+            }
+        }
+
+        view.addHistoryNote(redo ? "Move redone" : "Move undone");
+        view.clearSelection();
+        selectedRow = -1;
+        selectedCol = -1;
+        view.updateBoard(model);
+        // Redoing a winning move ends the game without notifying the listener
+        saveRecord();
+        // The computer moves again if a move it played first was taken back
+        playComputerTurnIfNeeded();
+    }
+
+    /**
+     * Shows the winner once a move ends the game.
+     *
+     * @param player1Wins Indicates whether Player 1 won the game.
+     */
+    @Override
+    public void onGameEnded(boolean player1Wins) {
+        saveRecord();
+        view.updateBoard(model);
+        view.showGameOver(model.getPlayerName(player1Wins));
+    }
+
+    /**
+     * Appends the finished game to the record file in the background. The game is
+     * copied here, on the event dispatch thread, and skipped if it is the game saved
+     * last, as happens when a winning move is taken back and played again.
+     */
+    private void saveRecord() {
+        if (!model.isGameEnded()) {
+            return;
+        }
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        try (GameRecordWriter writer = new GameRecordWriter(copy)) {
+            model.writeRecord(writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Writing to memory does not fail
+        }
+        byte[] record = copy.toByteArray();
+        if (Arrays.equals(record, savedRecord)) {
+            return;
+        }
+        savedRecord = record;
+
+        recordSaver.execute(() -> {
+            GameRecordReader game = new GameRecordReader(ByteBuffer.wrap(record));
+            game.next();
+            try (GameRecordWriter writer = GameRecordWriter.openAppend(Paths.get(GameRecord.DEFAULT_FILE))) {
+                writer.writeGame(game);
+            } catch (IOException e) {
+                e.printStackTrace();
             }
+        });
+    }
+
+    /**
+     * Starts the computer's search in the background if it is the computer's turn.
+     * The chosen move is played on the event dispatch thread once the search ends.
+     */
+    private void playComputerTurnIfNeeded() {
+        if (computer == null || computerThinking || stopped || model.isGameEnded()) {
+            return;
         }
+        if (model.isPlayerOneTurn() != (computer.getPlayerId() == 1)) {
+            return;
+        }
+
+        // Human input is ignored until the move is played; the search reads an immutable snapshot
+        computerThinking = true;
+        PositionSnapshot snapshot = model.getSnapshot();
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                return computer.chooseMove(snapshot);
+            }
+
+            @Override
+            protected void done() {
+                computerThinking = false;
+                if (stopped) {
+                    return; // The window is gone; do not play on a dead model and view
+                }
+                try {
+                    int move = get();
+                    if (move != Move.NONE) {
+                        int from = Move.from(move);
+                        int to = Move.to(move);
+                        applyMove(Position.row(from), Position.col(from), Position.row(to), Position.col(to));
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
     }
     /**
      * Handles key typing events. This method is required for KeyListener
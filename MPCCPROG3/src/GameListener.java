@@ -0,0 +1,12 @@
+/**
+ * Receives game events from the GameModel, so that the model does not depend
+ * on any user interface and can run headless.
+ */
+public interface GameListener {
+    /**
+     * Called once when a move ends the game.
+     *
+     * @param player1Wins Indicates whether Player 1 won the game.
+     */
+    void onGameEnded(boolean player1Wins);
+}
@@ -1,25 +1,23 @@
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.io.OutputStream;
-import java.io.PrintStream;
-import java.io.File;
+import java.io.IOException;
 
 /**
  * The GameModel class handles the game's logic
  * Manages the board, turns, movement of pieces, and determining the winner.
- * It updates the game state and communicates with the view to reflect the changes.
+ * It updates the game state and reports the end of the game to a GameListener,
+ * so it has no user interface dependencies and can run headless.
  */
 public class GameModel {
     private Board board;
     private boolean isPlayerOneTurn;
-    private String statusMessage;
     private boolean gameEnded;
-    private GameView view;
+    private GameListener listener;
     private String player1Name = "Player 1";
     private String player2Name = "Player 2";
-    private Font pixelFont;
+    private final MoveResult result = new MoveResult(); // Reused for every move
+    private boolean player1First = true;
+    private int winner;                           // ID of the winning player, or 0 while the game runs
+    private final ReplayTimeline timeline = new ReplayTimeline(); // Moves played, for the record and undo/redo
+    private volatile PositionSnapshot snapshot;   // Latest published state, for other threads
 
     /**
      * Constructs a GameModel object and initializes the board, status message,
@@ -29,33 +27,7 @@ public class GameModel {
         board = new Board();
         isPlayerOneTurn = true;
         gameEnded = false;
-        
-        // Load Pokemon font
-        try {
-            pixelFont = Font.createFont(Font.TRUETYPE_FONT, new File("assets/fonts/Pokemon Classic.ttf"));
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(pixelFont);
-        } catch (Exception e) {
-            e.printStackTrace();
-            pixelFont = new Font("Arial", Font.PLAIN, 12);
-        }
-    }
-
-    /**
-     * Gets the current status message of the game, typically related to piece movement
-     * or game events.
-     *
-     * @return The current status message.
-     */
-    public String getStatusMessage() {
-        return statusMessage;
-    }
-
-    /**
-     * Clears the current status message.
-     */
-    public void clearStatusMessage() {
-        statusMessage = "";
+        publishSnapshot();
     }
 
     /**
@@ -66,8 +38,12 @@ public class GameModel {
     public void initializeBoard(boolean p1First) {
         // Set who goes first
         isPlayerOneTurn = p1First;
+        player1First = p1First;
         gameEnded = false;
-        clearStatusMessage(); // Clear any existing status message
+        winner = 0;
+        timeline.reset(p1First);
+        board.setPosition(timeline.getPosition()); // Also sets the side to move of the board's bitboards
+        publishSnapshot();
     }
 
     /**
@@ -92,78 +68,17 @@ public class GameModel {
     }
 
     /**
-     * Handles the end of the game, displaying the winner and offering game options.
+     * Handles the end of the game and notifies the listener.
      *
      * @param player1Wins Indicates whether Player 1 won the game.
      */
     private void handleGameEnd(boolean player1Wins) {
-        // Set game ended state immediately
         gameEnded = true;
-        String winner = player1Wins ? player1Name : player2Name;
-        
-        // Update the view to reflect game ended state
-        if (view != null) {
-            view.updateBoard(this);
+        winner = player1Wins ? 1 : 2;
+        publishSnapshot();
+        if (listener != null) {
+            listener.onGameEnded(player1Wins);
         }
-        
-        // Delay the popup to show the piece reaching home base
-        Timer timer = new Timer(200, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                // Create styled message label
-                JLabel messageLabel = new JLabel("<html><div style='text-align: center;'>" + winner + " wins the game!</div></html>");
-                messageLabel.setFont(pixelFont.deriveFont(16f));
-                messageLabel.setForeground(new Color(106, 41, 66));  // Dark pink
-
-                // Show winner message with styled label
-                JOptionPane.showMessageDialog(null, 
-                    messageLabel,
-                    "Game Over", 
-                    JOptionPane.INFORMATION_MESSAGE);
-
-                // Create styled options label
-                JLabel optionsLabel = new JLabel("<html><div style='text-align: center;'>What would you like to do?</div></html>");
-                optionsLabel.setFont(pixelFont.deriveFont(16f));
-                optionsLabel.setForeground(new Color(106, 41, 66));
-
-                // Create options for the user
-                Object[] options = {"New Game", "Title Screen", "Exit"};
-                int choice = JOptionPane.showOptionDialog(null,
-                    optionsLabel,
-                    "Game Over",
-                    JOptionPane.YES_NO_CANCEL_OPTION,
-                    JOptionPane.QUESTION_MESSAGE,
-                    null,
-                    options,
-                    options[0]);
-
-                switch (choice) {
-                    case 0: // New Game
-                        if (view != null) {
-                            view.dispose();
-                        }
-                        SwingUtilities.invokeLater(() -> {
-                            new PreGame().setVisible(true);
-                        });
-                        break;
-                        
-                    case 1: // Title Screen
-                        if (view != null) {
-                            view.dispose();
-                        }
-                        SwingUtilities.invokeLater(() -> {
-                            new TitleScreen().setVisible(true);
-                        });
-                        break;
-                        
-                    default: // Exit or window closed
-                        System.exit(0);
-                        break;
-                }
-            }
-        });
-        timer.setRepeats(false);
-        timer.start();
     }
 
     /**
@@ -173,21 +88,9 @@ public class GameModel {
      * @return true if a piece has reached the opponent's home base, false otherwise.
      */
     public boolean hasPieceReachedHomeBase() {
-        // Check if any piece has reached a home base
-        for (int i = 0; i < 7; i++) {
-            for (int j = 0; j < 9; j++) {
-                Square square = board.getSquare(i, j);
-                if (square != null && square.isOccupied()) {
-                    Piece piece = square.getPiece();
-                    // Check if the piece is on the enemy's home base
-                    if ((piece.getPlayer().getId() == 1 && square.isHomeBase(board.getPlayer2())) ||
-                        (piece.getPlayer().getId() == 2 && square.isHomeBase(board.getPlayer1()))) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        // Check if any piece is on the enemy's home base
+        Position position = board.getPosition();
+        return position.hasReachedDen(Position.PLAYER1) || position.hasReachedDen(Position.PLAYER2);
     }
 
     /**
@@ -198,117 +101,184 @@ public class GameModel {
      * @param fromCol The column of the piece to move.
      * @param toRow The row to move the piece to.
      * @param toCol The column to move the piece to.
-     * @return true if the move is valid and successfully completed, false otherwise.
+     * @return The outcome of the move. The same instance is reused by the next call.
      */
-    public boolean movePiece(int fromRow, int fromCol, int toRow, int toCol) {
+    public MoveResult movePiece(int fromRow, int fromCol, int toRow, int toCol) {
+        result.reset();
+        result.setSquares(fromRow, fromCol, toRow, toCol);
+
         // Immediately return if game has ended
         if (gameEnded) {
-            return false;
+            result.reject(MoveResult.Rejection.GAME_OVER);
+            return result;
         }
 
-        // Clear any previous status message
-        clearStatusMessage();
-
         // Basic validation
         if (fromRow < 0 || fromRow >= 7 || fromCol < 0 || fromCol >= 9 ||
             toRow < 0 || toRow >= 7 || toCol < 0 || toCol >= 9) {
-            return false;
+            result.reject(MoveResult.Rejection.OUT_OF_BOUNDS);
+            return result;
         }
 
         // Get the piece to move
         Square fromSquare = board.getSquare(fromRow, fromCol);
-        if (fromSquare == null || !fromSquare.isOccupied()) {
-            return false;
+        if (!fromSquare.isOccupied()) {
+            result.reject(MoveResult.Rejection.NO_PIECE);
+            return result;
         }
 
         Piece piece = fromSquare.getPiece();
+        result.setMover(piece);
 
         // Verify it's the correct player's piece based on piece ownership
         if ((isPlayerOneTurn && piece.getPlayer().getId() != 1) || 
             (!isPlayerOneTurn && piece.getPlayer().getId() != 2)) {
-            return false;
+            result.reject(MoveResult.Rejection.NOT_YOUR_TURN);
+            return result;
         }
 
-        // Get destination square
-        Square toSquare = board.getSquare(toRow, toCol);
-        if (toSquare == null) {
-            return false;
+        boolean moved;
+
+        // Handle piece-specific movement
+        switch (piece.getType()) {
+            case Rat:
+            case Lion:
+            case Tiger:
+                // Rat lake rules and Lion/Tiger jumps are handled by the piece,
+                // which moves in the direction of the destination
+                moved = piece.move(getDirection(fromRow, fromCol, toRow, toCol), board, result);
+                break;
+            default:
+                // For other pieces, just move normally
+                moved = board.movePiece(piece, toRow, toCol, result);
+                break;
         }
 
-        // Create a custom PrintStream to capture console output
-        StringBuilder output = new StringBuilder();
-        PrintStream originalOut = System.out;
-        PrintStream customOut = new PrintStream(new OutputStream() {
-            @Override
-            public void write(int b) {
-                output.append((char) b);
+        if (moved) {
+            timeline.play(Move.encode(Position.square(fromRow, fromCol),
+                    Position.square(result.getToRow(), result.getToCol()),
+                    Move.directionOf(getDirection(fromRow, fromCol, toRow, toCol)), result.hasJumpedLake()));
+            // The timeline decides whose turn it is: the turn switches unless the opponent
+            // has no pieces left. The board's bitboards follow it.
+            int sideToMove = timeline.getPosition().sideToMove();
+            board.setSideToMove(sideToMove);
+            if (hasPieceReachedHomeBase()) {
+                handleGameEnd(isPlayerOneTurn);
+            } else {
+                isPlayerOneTurn = sideToMove == Position.PLAYER1;
+                publishSnapshot();
             }
-        });
-        System.setOut(customOut);
+        }
 
-        boolean result = false;
+        return result;
+    }
 
-        // Handle piece-specific movement
-        if (piece instanceof Rat) {
-            // Convert coordinates to direction for rat movement
-            char direction = getDirection(fromRow, fromCol, toRow, toCol);
-            if (direction == ' ') {
-                return false;
-            }
-            result = piece.move(direction, board);
-
-            if (result) {
-                if (hasPieceReachedHomeBase()) {
-                    handleGameEnd(isPlayerOneTurn);
-                }
-                // If the opponent still has pieces, switch turns
-                else if (board.hasPiecesLeft(isPlayerOneTurn ? 2 : 1)) {
-                    isPlayerOneTurn = !isPlayerOneTurn;
-                }
-                // Else, keep the current player moving since opponent has no pieces left
-            }
+    /**
+     * Gets the number of moves played.
+     *
+     * @return The number of accepted moves, not counting undone ones.
+     */
+    public int getMoveCount() {
+        return timeline.getPly();
+    }
 
-        } else if (piece instanceof Lion || piece instanceof Tiger) {
-            // Lion/Tiger movement is handled in their respective classes
-            // We just need to convert the coordinates to a direction
-            char direction = getDirection(fromRow, fromCol, toRow, toCol);
-            if (direction == ' ') {
-                return false;
-            }
-            result = piece.move(direction, board);
-
-            if (result) {
-                if (hasPieceReachedHomeBase()) {
-                    handleGameEnd(isPlayerOneTurn);
-                }
-                // If the opponent still has pieces, switch turns
-                else if (board.hasPiecesLeft(isPlayerOneTurn ? 2 : 1)) {
-                    isPlayerOneTurn = !isPlayerOneTurn;
-                }
-                // Else, keep the current player moving since opponent has no pieces left
-            }
+    /**
+     * Takes back the last move played.
+     *
+     * @return False if there is no move to take back.
+     */
+    public boolean undo() {
+        if (!timeline.undo()) {
+            return false;
+        }
+        syncWithTimeline();
+        return true;
+    }
 
+    /**
+     * Plays again the last move taken back.
+     *
+     * @return False if there is no move to play again.
+     */
+    public boolean redo() {
+        if (!timeline.redo()) {
+            return false;
+        }
+        syncWithTimeline();
+        return true;
+    }
+
+    /**
+     * Checks whether a move can be taken back.
+     *
+     * @return True if at least one move has been played.
+     */
+    public boolean canUndo() {
+        return timeline.getPly() > 0;
+    }
+
+    /**
+     * Checks whether a move taken back can be played again.
+     *
+     * @return True if undo was used since the last move played.
+     */
+    public boolean canRedo() {
+        return timeline.getPly() < timeline.getLength();
+    }
+
+    /**
+     * Rebuilds the board and the game state from the current position of the timeline.
+     * Redoing a winning move ends the game again without notifying the listener.
+     */
+    private void syncWithTimeline() {
+        Position position = timeline.getPosition();
+        board.setPosition(position);
+        if (position.hasReachedDen(Position.PLAYER1)) {
+            gameEnded = true;
+            winner = 1;
+            isPlayerOneTurn = true;
+        } else if (position.hasReachedDen(Position.PLAYER2)) {
+            gameEnded = true;
+            winner = 2;
+            isPlayerOneTurn = false;
         } else {
-            // For other pieces, just move normally
-            result = board.movePiece(piece, toRow, toCol);
-
-            if (result) {
-                if (hasPieceReachedHomeBase()) {
-                    handleGameEnd(isPlayerOneTurn);
-                }
-                // If the opponent still has pieces, switch turns
-                else if (board.hasPiecesLeft(isPlayerOneTurn ? 2 : 1)) {
-                    isPlayerOneTurn = !isPlayerOneTurn;
-                }
-                // Else, keep the current player moving since opponent has no pieces left
-            }
+            gameEnded = false;
+            winner = 0;
+            isPlayerOneTurn = position.sideToMove() == Position.PLAYER1;
         }
+        publishSnapshot();
+    }
 
-        // Restore original PrintStream and store the captured output
-        System.setOut(originalOut);
-        statusMessage = output.toString().trim();
+    /**
+     * Publishes the current state for other threads. The timeline position already
+     * holds the state in compact form, so this is one array copy.
+     */
+    private void publishSnapshot() {
+        snapshot = new PositionSnapshot(timeline.getPosition(), timeline.getPly(), winner);
+    }
 
-        return result;
+    /**
+     * Gets the state after the last move. Unlike getBoard, this may be called from
+     * any thread; the snapshot never changes and a new one is published after each move.
+     *
+     * @return The latest snapshot.
+     */
+    public PositionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Writes the game played so far, with the player names, who moved first and the result.
+     *
+     * @param writer The record writer.
+     * @throws IOException If the writer fails.
+     */
+    public void writeRecord(GameRecordWriter writer) throws IOException {
+        writer.beginGame(player1Name, player2Name, player1First);
+        for (int i = 0; i < timeline.getPly(); i++) {
+            writer.writeMove(GameRecord.encode(timeline.getMove(i)));
+        }
+        writer.endGame(winner);
     }
 
     /**
@@ -347,12 +317,12 @@ public class GameModel {
     }
 
     /**
-     * Sets the view to update the user interface.
+     * Sets the listener notified of game events.
      *
-     * @param view The GameView instance to be used for the user interface.
+     * @param listener The listener, or null for none.
      */
-    public void setView(GameView view) {
-        this.view = view;
+    public void setGameListener(GameListener listener) {
+        this.listener = listener;
     }
 
     /**
@@ -374,4 +344,14 @@ public class GameModel {
         this.player1Name = p1Name;
         this.player2Name = p2Name;
     }
+
+    /**
+     * Gets the name of one of the players.
+     *
+     * @param player1 True for Player 1, false for Player 2.
+     * @return The player's name.
+     */
+    public String getPlayerName(boolean player1) {
+        return player1 ? player1Name : player2Name;
+    }
 }
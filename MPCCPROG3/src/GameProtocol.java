@@ -0,0 +1,209 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Binary frame format spoken between GameServer and its clients.
+ *
+ * Every frame is [u16 length][u8 type][payload], big-endian, where the length counts
+ * the type byte and the payload. Squares are board indices (row * 9 + column).
+ *
+ * Client to server:
+ * - CREATE [u8 player1First]: creates a game and seats the sender as Player 1
+ * - JOIN   [i64 session][u8 role]: joins a game as Player 1, Player 2 or spectator
+ * - MOVE   [u8 from][u8 to]: plays a move in the joined game
+ * - STATE  (no payload): asks for the current state again
+ *
+ * Server to client:
+ * - JOINED [i64 session][u8 role]: answer to CREATE and JOIN
+ * - STATE  [i64 session][u16 moves][u16 last move][u8 winner][u8 side to move]
+ *          [u8 den owners][63 x u8 squares]: sent on joining and after every move.
+ *          The side to move and den owners are side indices (0 for Player 1), one bit
+ *          per den; an empty square is 0, otherwise the piece code + 1
+ * - ERROR  [u8 request type][u8 code]: a MoveResult.Rejection ordinal for a refused
+ *          move, or one of the protocol error codes below
+ */
+public final class GameProtocol {
+    public static final int MAX_FRAME = 128;   // Largest frame in bytes, length prefix included
+    public static final int HEADER_SIZE = 3;   // Length prefix and type
+
+    // Frame types
+    public static final int CREATE = 1;
+    public static final int JOIN = 2;
+    public static final int MOVE = 3;
+    public static final int STATE = 4;
+    public static final int JOINED = 5;
+    public static final int ERROR = 6;
+
+    // Roles in a game
+    public static final int SPECTATOR = 0;
+    public static final int PLAYER1 = 1;
+    public static final int PLAYER2 = 2;
+
+    // Protocol error codes, above the MoveResult.Rejection ordinals
+    public static final int NO_SESSION = 100;     // No game with that ID
+    public static final int SEAT_TAKEN = 101;     // The requested player seat is occupied
+    public static final int NOT_A_PLAYER = 102;   // Moves need a player seat in a game
+    public static final int ALREADY_JOINED = 103; // A connection takes part in one game at a time
+    public static final int SERVER_FULL = 104;    // The session limit is reached
+    public static final int SESSION_CLOSED = 105; // The game was evicted for being idle
+
+    // Square encoding in STATE frames
+    public static final int SQUARE_WEAKENED = 0x80; // Set on a weakened piece; the low bits hold piece code + 1
+
+    private GameProtocol() {
+    }
+
+    /**
+     * Starts a frame at the buffer's position.
+     *
+     * @param buf  The buffer to write to.
+     * @param type The frame type.
+     * @return The position of the frame, to pass to end().
+     */
+    private static int begin(ByteBuffer buf, int type) {
+        int start = buf.position();
+        buf.putShort((short) 0);
+        buf.put((byte) type);
+        return start;
+    }
+
+    /**
+     * Completes a frame by writing its length prefix.
+     *
+     * @param buf   The buffer written to.
+     * @param start The position returned by begin().
+     */
+    private static void end(ByteBuffer buf, int start) {
+        buf.putShort(start, (short) (buf.position() - start - 2));
+    }
+
+    /**
+     * Appends a CREATE frame.
+     *
+     * @param buf          The buffer to write to.
+     * @param player1First True if Player 1 moves first.
+     */
+    public static void putCreate(ByteBuffer buf, boolean player1First) {
+        int start = begin(buf, CREATE);
+        buf.put((byte) (player1First ? 1 : 0));
+        end(buf, start);
+    }
+
+    /**
+     * Appends a JOIN frame.
+     *
+     * @param buf     The buffer to write to.
+     * @param session The session ID.
+     * @param role    PLAYER1, PLAYER2 or SPECTATOR.
+     */
+    public static void putJoin(ByteBuffer buf, long session, int role) {
+        int start = begin(buf, JOIN);
+        buf.putLong(session);
+        buf.put((byte) role);
+        end(buf, start);
+    }
+
+    /**
+     * Appends a MOVE frame.
+     *
+     * @param buf  The buffer to write to.
+     * @param from The origin square index.
+     * @param to   The destination square index.
+     */
+    public static void putMove(ByteBuffer buf, int from, int to) {
+        int start = begin(buf, MOVE);
+        buf.put((byte) from);
+        buf.put((byte) to);
+        end(buf, start);
+    }
+
+    /**
+     * Appends a STATE request frame.
+     *
+     * @param buf The buffer to write to.
+     */
+    public static void putStateRequest(ByteBuffer buf) {
+        end(buf, begin(buf, STATE));
+    }
+
+    /**
+     * Appends a JOINED frame.
+     *
+     * @param buf     The buffer to write to.
+     * @param session The session ID.
+     * @param role    The role given to the client.
+     */
+    public static void putJoined(ByteBuffer buf, long session, int role) {
+        int start = begin(buf, JOINED);
+        buf.putLong(session);
+        buf.put((byte) role);
+        end(buf, start);
+    }
+
+    /**
+     * Appends an ERROR frame.
+     *
+     * @param buf         The buffer to write to.
+     * @param requestType The type of the frame that failed.
+     * @param code        A MoveResult.Rejection ordinal or a protocol error code.
+     */
+    public static void putError(ByteBuffer buf, int requestType, int code) {
+        int start = begin(buf, ERROR);
+        buf.put((byte) requestType);
+        buf.put((byte) code);
+        end(buf, start);
+    }
+
+    /**
+     * Appends a STATE frame.
+     *
+     * @param buf       The buffer to write to.
+     * @param session   The session ID.
+     * @param moveCount The number of moves played.
+     * @param lastMove  The last packed move, or Move.NONE.
+     * @param winner    The ID of the winning player, or 0.
+     * @param position  The current position.
+     */
+    public static void putState(ByteBuffer buf, long session, int moveCount, int lastMove, int winner,
+                                Position position) {
+        int start = begin(buf, STATE);
+        buf.putLong(session);
+        buf.putShort((short) moveCount);
+        buf.putShort((short) lastMove);
+        buf.put((byte) winner);
+        buf.put((byte) position.sideToMove());
+        buf.put((byte) (position.denOwner(Position.PLAYER1) | (position.denOwner(Position.PLAYER2) << 1)));
+        for (int square = 0; square < Position.SQUARES; square++) {
+            int code = position.pieceAt(square);
+            int value = code + 1;
+            if (code != Position.EMPTY && position.isWeakened(square)) {
+                value |= SQUARE_WEAKENED;
+            }
+            buf.put((byte) value);
+        }
+        end(buf, start);
+    }
+
+    /**
+     * Reads the board part of a STATE payload into a position. The buffer must be
+     * positioned after the winner byte, and is left after the last square.
+     *
+     * @param buf    The buffer to read from.
+     * @param target The position to fill in.
+     */
+    public static void readPosition(ByteBuffer buf, Position target) {
+        target.clear();
+        int sideToMove = buf.get();
+        int dens = buf.get();
+        for (int square = 0; square < Position.SQUARES; square++) {
+            int value = buf.get() & 0xFF;
+            int code = (value & ~SQUARE_WEAKENED) - 1;
+            if (code != Position.EMPTY) {
+                target.put(square, Position.sideOf(code), Position.typeOf(code));
+                target.setWeakened(square, (value & SQUARE_WEAKENED) != 0);
+            }
+        }
+        target.setDenOwner(Position.PLAYER1, dens & 1);
+        target.setDenOwner(Position.PLAYER2, (dens >>> 1) & 1);
+        target.setSideToMove(sideToMove);
+    }
+}
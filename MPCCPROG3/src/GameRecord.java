@@ -0,0 +1,89 @@
+/**
+ * Compact binary format for saved games, written by GameRecordWriter and read by GameRecordReader.
+ *
+ * A file starts with the magic bytes "JKGR" and a version byte, followed by games back to back:
+ * - u8 flags: bit 0 set if Player 1 moved first, other bits reserved
+ * - u8 length and UTF-8 bytes of Player 1's name, then the same for Player 2
+ * - one byte per move: origin square * 4 + direction, 0 to 251
+ * - one end byte holding the result: END_UNFINISHED, END_PLAYER1 or END_PLAYER2
+ *
+ * The origin and direction are enough to identify a legal move, since the piece
+ * on the origin decides whether it steps into a lake or jumps over it. Byte 255
+ * is reserved as the prefix of future two-byte codes.
+ */
+public final class GameRecord {
+    public static final byte[] MAGIC = {'J', 'K', 'G', 'R'};
+    public static final int VERSION = 1;
+    public static final int FILE_HEADER_SIZE = MAGIC.length + 1;
+    public static final int MAX_NAME_BYTES = 255;
+    public static final String DEFAULT_FILE = "games.jkr"; // Where finished games are appended
+
+    public static final int FLAG_PLAYER1_FIRST = 1;
+
+    // Codes 252 and above never encode a move
+    public static final int END_UNFINISHED = 252;
+    public static final int END_PLAYER1 = 253;
+    public static final int END_PLAYER2 = 254;
+    public static final int ESCAPE = 255;
+
+    private GameRecord() {
+    }
+
+    /**
+     * Encodes a move as its one-byte code.
+     *
+     * @param from      The origin square index.
+     * @param direction The direction of travel (Move.UP, LEFT, DOWN or RIGHT).
+     * @return The move code.
+     */
+    public static int encode(int from, int direction) {
+        return (from << 2) | direction;
+    }
+
+    /**
+     * Encodes a packed move as its one-byte code.
+     *
+     * @param move The packed move.
+     * @return The move code.
+     */
+    public static int encode(int move) {
+        return encode(Move.from(move), Move.direction(move));
+    }
+
+    /**
+     * Gets the end byte for a result.
+     *
+     * @param winner The ID of the winning player, or 0 if the game did not finish.
+     * @return The end code.
+     */
+    public static int endCode(int winner) {
+        return END_UNFINISHED + winner;
+    }
+
+    /**
+     * Decodes a move code into the legal move it stands for in a position.
+     *
+     * @param position The position before the move.
+     * @param code     The move code.
+     * @param scratch  A buffer with room for at least 4 moves.
+     * @return The packed move, or Move.NONE if the code is not a legal move here.
+     */
+    public static int decode(Position position, int code, int[] scratch) {
+        int from = code >>> 2;
+        int direction = code & 3;
+        if (from >= Position.SQUARES) {
+            return Move.NONE;
+        }
+        int piece = position.pieceAt(from);
+        if (piece == Position.EMPTY || Position.sideOf(piece) != position.sideToMove()) {
+            return Move.NONE;
+        }
+        int count = MoveGenerator.generateFrom(position, from, scratch, 0);
+        for (int i = 0; i < count; i++) {
+            if (Move.direction(scratch[i]) == direction) {
+                return scratch[i];
+            }
+        }
+        return Move.NONE;
+    }
+}
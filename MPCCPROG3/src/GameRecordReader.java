@@ -0,0 +1,257 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads games in the GameRecord format straight out of a ByteBuffer, typically a
+ * memory-mapped file. Nothing is copied while scanning: next() only records where
+ * the current game's names and moves lie, and the getters read the buffer in place.
+ * Only getPlayerName builds an object.
+ */
+public class GameRecordReader {
+    private final ByteBuffer buffer; // Independent view of the caller's buffer, read with absolute gets
+    private int nextOffset;          // Start of the next game
+
+    // The current game
+    private int gameOffset = -1;
+    private int flags;
+    private int name1Offset, name1Length;
+    private int name2Offset, name2Length;
+    private int movesOffset;
+    private int moveCount;
+    private int winner;
+
+    /**
+     * Constructs a reader over a record file's contents, from the buffer's position to its limit.
+     *
+     * @param buffer The buffer holding the file.
+     * @throws IllegalArgumentException If the buffer does not start with a record file header.
+     */
+    public GameRecordReader(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+        int start = this.buffer.position();
+        if (this.buffer.remaining() < GameRecord.FILE_HEADER_SIZE) {
+            throw new IllegalArgumentException("Not a game record file");
+        }
+        for (int i = 0; i < GameRecord.MAGIC.length; i++) {
+            if (this.buffer.get(start + i) != GameRecord.MAGIC[i]) {
+                throw new IllegalArgumentException("Not a game record file");
+            }
+        }
+        int version = this.buffer.get(start + GameRecord.MAGIC.length) & 0xFF;
+        if (version != GameRecord.VERSION) {
+            throw new IllegalArgumentException("Unsupported game record version " + version);
+        }
+        nextOffset = start + GameRecord.FILE_HEADER_SIZE;
+    }
+
+    /**
+     * Constructs a reader over games without a file header, such as one segment of a GameArchive.
+     *
+     * @param buffer The buffer holding the games.
+     * @param offset The index of the first game to read.
+     */
+    GameRecordReader(ByteBuffer buffer, int offset) {
+        this.buffer = buffer.duplicate();
+        nextOffset = offset;
+    }
+
+    /**
+     * Maps a record file into memory for reading. Files must be smaller than 2 GB.
+     *
+     * @param file The file.
+     * @return A read-only buffer over the whole file.
+     * @throws IOException If the file cannot be mapped.
+     */
+    public static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Advances to the next game.
+     *
+     * @return False if there are no more games.
+     * @throws IllegalStateException If the game is cut off or uses an unsupported code.
+     */
+    public boolean next() {
+        int limit = buffer.limit();
+        if (nextOffset >= limit) {
+            return false;
+        }
+        int p = nextOffset;
+        gameOffset = p;
+        if (p + 3 > limit) {
+            throw truncated();
+        }
+        flags = buffer.get(p++) & 0xFF;
+        name1Length = buffer.get(p++) & 0xFF;
+        name1Offset = p;
+        p += name1Length;
+        if (p >= limit) {
+            throw truncated();
+        }
+        name2Length = buffer.get(p++) & 0xFF;
+        name2Offset = p;
+        p += name2Length;
+        movesOffset = p;
+
+        // Moves run until the first code that is not a move
+        int code;
+        while (true) {
+            if (p >= limit) {
+                throw truncated();
+            }
+            code = buffer.get(p) & 0xFF;
+            if (code >= GameRecord.END_UNFINISHED) {
+                break;
+            }
+            p++;
+        }
+        if (code == GameRecord.ESCAPE) {
+            throw new IllegalStateException("Unsupported code in the game at offset " + gameOffset);
+        }
+        moveCount = p - movesOffset;
+        winner = code - GameRecord.END_UNFINISHED;
+        nextOffset = p + 1;
+        return true;
+    }
+
+    /**
+     * Builds the error for a game that runs past the end of the buffer.
+     *
+     * @return The exception to throw.
+     */
+    private IllegalStateException truncated() {
+        return new IllegalStateException("Game record cut off at offset " + gameOffset);
+    }
+
+    /**
+     * Gets the offset of the current game in the buffer.
+     *
+     * @return The index of the game's first byte.
+     */
+    public int getGameOffset() {
+        return gameOffset;
+    }
+
+    /**
+     * Gets the offset just past the current game, where the next one starts.
+     *
+     * @return The index after the game's end byte.
+     */
+    public int getGameEnd() {
+        return nextOffset;
+    }
+
+    /**
+     * Checks who moved first in the current game.
+     *
+     * @return True if Player 1 moved first.
+     */
+    public boolean isPlayer1First() {
+        return (flags & GameRecord.FLAG_PLAYER1_FIRST) != 0;
+    }
+
+    /**
+     * Gets a player's name in the current game.
+     *
+     * @param player1 True for Player 1, false for Player 2.
+     * @return The decoded name.
+     */
+    public String getPlayerName(boolean player1) {
+        int offset = player1 ? name1Offset : name2Offset;
+        int length = player1 ? name1Length : name2Length;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the number of moves in the current game.
+     *
+     * @return The number of moves.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Gets a move of the current game.
+     *
+     * @param index The index of the move, 0 being the first.
+     * @return The move code, to decode with GameRecord.decode.
+     */
+    public int getMoveCode(int index) {
+        return buffer.get(movesOffset + index) & 0xFF;
+    }
+
+    /**
+     * Gets the result of the current game.
+     *
+     * @return The ID of the winning player, or 0 if the game did not finish.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Copies the bytes of the current game into a buffer.
+     *
+     * @param target The buffer to copy into.
+     * @param index  The index in the target of the first byte.
+     */
+    public void copyGame(ByteBuffer target, int index) {
+        target.put(index, buffer, gameOffset, nextOffset - gameOffset);
+    }
+
+    /**
+     * Sets up a position after a number of moves of the current game.
+     * The position's undo stack is left empty.
+     *
+     * @param target  The position to fill in.
+     * @param plies   The number of moves to play, at most getMoveCount().
+     * @param scratch A buffer with room for at least 4 moves.
+     * @return False if a move is not legal, leaving the position before that move.
+     */
+    public boolean replay(Position target, int plies, int[] scratch) {
+        target.setStartPosition();
+        target.setSideToMove(isPlayer1First() ? Position.PLAYER1 : Position.PLAYER2);
+        for (int i = 0; i < plies; i++) {
+            if (!playMove(target, i, scratch)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Plays one move of the current game on a position that has reached the move before it.
+     * As in GameModel, the mover keeps the turn when the opponent has no pieces left.
+     * The position's undo stack is left empty.
+     *
+     * @param target  The position.
+     * @param index   The index of the move.
+     * @param scratch A buffer with room for at least 4 moves.
+     * @return False if the move is not legal, leaving the position unchanged.
+     */
+    public boolean playMove(Position target, int index, int[] scratch) {
+        int move = GameRecord.decode(target, getMoveCode(index), scratch);
+        if (move == Move.NONE) {
+            return false;
+        }
+        int side = target.sideToMove();
+        target.makeMove(move);
+        target.discardHistory();
+        if (!target.hasPiecesLeft(side ^ 1)) {
+            target.setSideToMove(side);
+        }
+        return true;
+    }
+}
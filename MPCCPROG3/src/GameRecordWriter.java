@@ -0,0 +1,191 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams games in the GameRecord format: beginGame, one writeMove per move, then endGame.
+ * Bytes are collected in an internal buffer and written to the stream in blocks,
+ * so recording a move costs one array store.
+ */
+public class GameRecordWriter implements Closeable {
+    private final OutputStream out;
+    private final byte[] buffer = new byte[8192];
+    private int count;       // Bytes waiting in the buffer
+    private boolean inGame;  // Between beginGame and endGame
+
+    /**
+     * Starts a new record file on a stream.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the file header cannot be written.
+     */
+    public GameRecordWriter(OutputStream out) throws IOException {
+        this(out, true);
+    }
+
+    /**
+     * Constructs a writer, optionally writing the file header.
+     *
+     * @param out         The stream to write to.
+     * @param writeHeader True for a new file, false when appending to an existing one.
+     * @throws IOException If the file header cannot be written.
+     */
+    private GameRecordWriter(OutputStream out, boolean writeHeader) throws IOException {
+        this.out = out;
+        if (writeHeader) {
+            for (byte b : GameRecord.MAGIC) {
+                put(b);
+            }
+            put(GameRecord.VERSION);
+        }
+    }
+
+    /**
+     * Opens a record file for appending games, creating it with a file header if needed.
+     *
+     * @param file The file.
+     * @return The writer.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static GameRecordWriter openAppend(Path file) throws IOException {
+        boolean isNew = !Files.exists(file) || Files.size(file) == 0;
+        OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return new GameRecordWriter(out, isNew);
+    }
+
+    /**
+     * Starts a game.
+     *
+     * @param player1Name  The name of Player 1.
+     * @param player2Name  The name of Player 2.
+     * @param player1First True if Player 1 moved first.
+     * @throws IOException If the stream fails.
+     */
+    public void beginGame(String player1Name, String player2Name, boolean player1First) throws IOException {
+        if (inGame) {
+            throw new IllegalStateException("The previous game was not ended");
+        }
+        inGame = true;
+        put(player1First ? GameRecord.FLAG_PLAYER1_FIRST : 0);
+        putName(player1Name);
+        putName(player2Name);
+    }
+
+    /**
+     * Writes a player name as a length byte and UTF-8 bytes, cut at a character
+     * boundary if it is longer than GameRecord.MAX_NAME_BYTES.
+     *
+     * @param name The name.
+     * @throws IOException If the stream fails.
+     */
+    private void putName(String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        if (length > GameRecord.MAX_NAME_BYTES) {
+            length = GameRecord.MAX_NAME_BYTES;
+            while ((bytes[length] & 0xC0) == 0x80) { // Do not split a multi-byte character
+                length--;
+            }
+        }
+        put(length);
+        for (int i = 0; i < length; i++) {
+            put(bytes[i]);
+        }
+    }
+
+    /**
+     * Writes a move of the current game.
+     *
+     * @param code The move code from GameRecord.encode.
+     * @throws IOException If the stream fails.
+     */
+    public void writeMove(int code) throws IOException {
+        if (!inGame) {
+            throw new IllegalStateException("No game was begun");
+        }
+        if (code < 0 || code >= GameRecord.END_UNFINISHED) {
+            throw new IllegalArgumentException("Invalid move code " + code);
+        }
+        put(code);
+    }
+
+    /**
+     * Ends the current game with its result.
+     *
+     * @param winner The ID of the winning player, or 0 if the game did not finish.
+     * @throws IOException If the stream fails.
+     */
+    public void endGame(int winner) throws IOException {
+        if (!inGame) {
+            throw new IllegalStateException("No game was begun");
+        }
+        inGame = false;
+        put(GameRecord.endCode(winner));
+    }
+
+    /**
+     * Copies a whole game from another record.
+     *
+     * @param game A reader positioned on the game.
+     * @throws IOException If the stream fails.
+     */
+    public void writeGame(GameRecordReader game) throws IOException {
+        beginGame(game.getPlayerName(true), game.getPlayerName(false), game.isPlayer1First());
+        for (int i = 0; i < game.getMoveCount(); i++) {
+            writeMove(game.getMoveCode(i));
+        }
+        endGame(game.getWinner());
+    }
+
+    /**
+     * Adds one byte to the buffer, writing the buffer out when it is full.
+     *
+     * @param b The byte.
+     * @throws IOException If the stream fails.
+     */
+    private void put(int b) throws IOException {
+        if (count == buffer.length) {
+            drain();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    /**
+     * Writes the buffered bytes to the stream.
+     *
+     * @throws IOException If the stream fails.
+     */
+    private void drain() throws IOException {
+        out.write(buffer, 0, count);
+        count = 0;
+    }
+
+    /**
+     * Writes the buffered bytes and flushes the stream.
+     *
+     * @throws IOException If the stream fails.
+     */
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Flushes and closes the stream. A game that was begun but not ended is left
+     * unterminated, so end every game first.
+     *
+     * @throws IOException If the stream fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,617 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Networked play: a non-blocking server speaking the GameProtocol frame format.
+ * One thread runs a selector loop over every connection; moves are validated by
+ * the GameSession they belong to, and each accepted move sends the new state to
+ * both players and every spectator of that game.
+ *
+ * Each connection reads into and writes from its own direct buffer, taken from a pool
+ * so that connections coming and going do not allocate. Frames produced while handling
+ * a batch of ready keys are queued in those buffers and flushed once at the end of the
+ * batch. A client that stops reading until its write buffer fills up is disconnected.
+ */
+public class GameServer implements Runnable {
+    private static final int READ_BUFFER_SIZE = 2 * GameProtocol.MAX_FRAME;
+    private static final int WRITE_BUFFER_SIZE = 4096;
+    private static final long SWEEP_INTERVAL_MS = 1000; // How often idle games are evicted
+    private static final int DEFAULT_PORT = 7777;
+
+    /**
+     * One client connection.
+     */
+    private static final class Connection {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ByteBuffer in;  // Kept in fill mode between reads
+        final ByteBuffer out; // Kept in fill mode between flushes
+        Room room;            // The joined game, or null
+        int role;             // Role in the joined game
+        boolean queued;       // Waiting in the flush list
+        boolean closed;
+
+        Connection(SocketChannel channel, SelectionKey key, ByteBuffer in, ByteBuffer out) {
+            this.channel = channel;
+            this.key = key;
+            this.in = in;
+            this.out = out;
+        }
+    }
+
+    /**
+     * The connections taking part in one game.
+     */
+    private static final class Room {
+        final GameSession session;
+        final Connection[] players = new Connection[2];
+        final List<Connection> spectators = new ArrayList<>();
+
+        Room(GameSession session) {
+            this.session = session;
+        }
+
+        boolean isEmpty() {
+            return players[0] == null && players[1] == null && spectators.isEmpty();
+        }
+    }
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final GameSessionManager sessions;
+    private final int maxConnections;
+    private final HashMap<Long, Room> rooms = new HashMap<>();
+    private final List<Connection> flushQueue = new ArrayList<>();
+    private final List<Connection> recipients = new ArrayList<>(); // Spectators being sent a frame, reused
+    private final ArrayDeque<ByteBuffer> freeReadBuffers = new ArrayDeque<>();
+    private final ArrayDeque<ByteBuffer> freeWriteBuffers = new ArrayDeque<>();
+    private final ByteBuffer frame = ByteBuffer.allocateDirect(GameProtocol.MAX_FRAME); // Outgoing frame being built
+    private final Position state = new Position(1);                                    // Session copy for STATE frames
+    private final Consumer<SelectionKey> keyHandler = this::handleKey;
+    private int connectionCount;
+    private volatile boolean running = true;
+
+    /**
+     * Opens a server socket.
+     *
+     * @param address        The address to listen on.
+     * @param maxConnections The maximum number of client connections.
+     * @param sessions       The session manager hosting the games.
+     * @throws IOException If the socket cannot be opened.
+     */
+    public GameServer(InetSocketAddress address, int maxConnections, GameSessionManager sessions) throws IOException {
+        this.maxConnections = maxConnections;
+        this.sessions = sessions;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(address, 1024);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Gets the port the server listens on, useful when it was bound to port 0.
+     *
+     * @return The local port.
+     * @throws IOException If the socket is closed.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Runs the selector loop until stop() is called, then closes every connection
+     * and removes the games it was hosting from the session manager.
+     */
+    @Override
+    public void run() {
+        long nextSweep = System.currentTimeMillis() + SWEEP_INTERVAL_MS;
+        try {
+            while (running) {
+                selector.select(keyHandler, SWEEP_INTERVAL_MS);
+                flushQueued();
+                long now = System.currentTimeMillis();
+                if (now >= nextSweep) {
+                    sweepIdleRooms();
+                    flushQueued();
+                    nextSweep = now + SWEEP_INTERVAL_MS;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Game server stopped: " + e.getMessage());
+        } finally {
+            // Closing each connection also removes its game from the session manager
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    close((Connection) key.attachment());
+                } else {
+                    closeQuietly(key);
+                }
+            }
+            for (long id : rooms.keySet()) {
+                sessions.remove(id);
+            }
+            rooms.clear();
+            closeQuietly(selector);
+        }
+    }
+
+    /**
+     * Asks the selector loop to stop. Safe to call from any thread.
+     */
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Handles one ready key.
+     *
+     * @param key The selection key.
+     */
+    private void handleKey(SelectionKey key) {
+        if (key.isValid() && key.isAcceptable()) {
+            accept();
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        if (key.isValid() && key.isReadable()) {
+            read(connection);
+        }
+        if (!connection.closed && key.isValid() && key.isWritable()) {
+            flush(connection);
+        }
+    }
+
+    /**
+     * Accepts every pending connection, closing those over the connection limit.
+     */
+    private void accept() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                return;
+            }
+            if (channel == null) {
+                return;
+            }
+            if (connectionCount >= maxConnections) {
+                closeQuietly(channel);
+                continue;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new Connection(channel, key, takeBuffer(freeReadBuffers, READ_BUFFER_SIZE),
+                        takeBuffer(freeWriteBuffers, WRITE_BUFFER_SIZE)));
+                connectionCount++;
+            } catch (IOException e) {
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    /**
+     * Reads from a connection and handles every complete frame received.
+     *
+     * @param connection The connection.
+     */
+    private void read(Connection connection) {
+        ByteBuffer in = connection.in;
+        try {
+            if (connection.channel.read(in) < 0) {
+                close(connection);
+                return;
+            }
+        } catch (IOException e) {
+            close(connection);
+            return;
+        }
+
+        in.flip();
+        while (in.remaining() >= 2) {
+            int length = in.getShort(in.position()) & 0xFFFF;
+            if (length < 1 || length > GameProtocol.MAX_FRAME - 2) {
+                close(connection); // Not speaking the protocol
+                return;
+            }
+            if (in.remaining() < 2 + length) {
+                break; // Wait for the rest of the frame
+            }
+            int end = in.position() + 2 + length;
+            in.position(in.position() + 2);
+            int type = in.get() & 0xFF;
+            if (!handleFrame(connection, type, length - 1)) {
+                close(connection);
+                return;
+            }
+            if (connection.closed) {
+                return;
+            }
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    /**
+     * Handles one received frame. The payload is at the read buffer's position.
+     *
+     * @param connection    The sending connection.
+     * @param type          The frame type.
+     * @param payloadLength The number of payload bytes.
+     * @return False if the frame is malformed.
+     */
+    private boolean handleFrame(Connection connection, int type, int payloadLength) {
+        ByteBuffer in = connection.in;
+        switch (type) {
+            case GameProtocol.CREATE:
+                if (payloadLength != 1) {
+                    return false;
+                }
+                create(connection, in.get() != 0);
+                return true;
+            case GameProtocol.JOIN:
+                if (payloadLength != 9) {
+                    return false;
+                }
+                long session = in.getLong();
+                join(connection, session, in.get());
+                return true;
+            case GameProtocol.MOVE:
+                if (payloadLength != 2) {
+                    return false;
+                }
+                int from = in.get() & 0xFF;
+                move(connection, from, in.get() & 0xFF);
+                return true;
+            case GameProtocol.STATE:
+                if (payloadLength != 0) {
+                    return false;
+                }
+                if (connection.room == null) {
+                    sendError(connection, type, GameProtocol.NOT_A_PLAYER);
+                } else {
+                    buildState(connection.room);
+                    send(connection);
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Creates a game and seats the connection as Player 1.
+     *
+     * @param connection   The requesting connection.
+     * @param player1First True if Player 1 moves first.
+     */
+    private void create(Connection connection, boolean player1First) {
+        if (connection.room != null) {
+            sendError(connection, GameProtocol.CREATE, GameProtocol.ALREADY_JOINED);
+            return;
+        }
+        GameSession session;
+        try {
+            session = sessions.create(player1First);
+        } catch (IllegalStateException e) {
+            sendError(connection, GameProtocol.CREATE, GameProtocol.SERVER_FULL);
+            return;
+        }
+        Room room = new Room(session);
+        rooms.put(session.getId(), room);
+        seat(connection, room, GameProtocol.PLAYER1);
+    }
+
+    /**
+     * Joins a game as a player or spectator.
+     *
+     * @param connection The requesting connection.
+     * @param id         The session ID.
+     * @param role       The requested role.
+     */
+    private void join(Connection connection, long id, int role) {
+        if (connection.room != null) {
+            sendError(connection, GameProtocol.JOIN, GameProtocol.ALREADY_JOINED);
+            return;
+        }
+        Room room = rooms.get(id);
+        if (room == null || sessions.get(id) == null) {
+            sendError(connection, GameProtocol.JOIN, GameProtocol.NO_SESSION);
+            return;
+        }
+        if (role != GameProtocol.PLAYER1 && role != GameProtocol.PLAYER2) {
+            role = GameProtocol.SPECTATOR;
+        } else if (room.players[role - 1] != null) {
+            sendError(connection, GameProtocol.JOIN, GameProtocol.SEAT_TAKEN);
+            return;
+        }
+        seat(connection, room, role);
+    }
+
+    /**
+     * Adds a connection to a game and sends it the JOINED answer and the current state.
+     *
+     * @param connection The connection.
+     * @param room       The game.
+     * @param role       The role in the game.
+     */
+    private void seat(Connection connection, Room room, int role) {
+        if (role == GameProtocol.SPECTATOR) {
+            room.spectators.add(connection);
+        } else {
+            room.players[role - 1] = connection;
+        }
+        connection.room = room;
+        connection.role = role;
+
+        frame.clear();
+        GameProtocol.putJoined(frame, room.session.getId(), role);
+        frame.flip();
+        send(connection);
+        buildState(room);
+        send(connection);
+    }
+
+    /**
+     * Plays a move and sends the new state to everyone in the game,
+     * or an error to the sender if the move is refused.
+     *
+     * @param connection The requesting connection.
+     * @param from       The origin square index.
+     * @param to         The destination square index.
+     */
+    private void move(Connection connection, int from, int to) {
+        Room room = connection.room;
+        if (room == null || connection.role == GameProtocol.SPECTATOR) {
+            sendError(connection, GameProtocol.MOVE, GameProtocol.NOT_A_PLAYER);
+            return;
+        }
+        MoveResult.Rejection rejection = room.session.play(connection.role, from, to);
+        if (rejection != MoveResult.Rejection.NONE) {
+            sendError(connection, GameProtocol.MOVE, rejection.ordinal());
+            return;
+        }
+
+        buildState(room);
+        for (Connection player : room.players) {
+            if (player != null) {
+                send(player);
+            }
+        }
+        // send closes a spectator that is not keeping up, which removes it from the
+        // list, so go over a copy to reach the ones after it
+        recipients.addAll(room.spectators);
+        for (int i = 0; i < recipients.size(); i++) {
+            send(recipients.get(i));
+        }
+        recipients.clear();
+    }
+
+    /**
+     * Builds the STATE frame of a game in the shared frame buffer.
+     *
+     * @param room The game.
+     */
+    private void buildState(Room room) {
+        GameSession session = room.session;
+        session.copyPositionTo(state);
+        frame.clear();
+        GameProtocol.putState(frame, session.getId(), session.getMoveCount(), session.getLastMove(),
+                session.getWinner(), state);
+        frame.flip();
+    }
+
+    /**
+     * Sends an ERROR frame.
+     *
+     * @param connection  The connection.
+     * @param requestType The type of the frame that failed.
+     * @param code        The error code.
+     */
+    private void sendError(Connection connection, int requestType, int code) {
+        frame.clear();
+        GameProtocol.putError(frame, requestType, code);
+        frame.flip();
+        send(connection);
+    }
+
+    /**
+     * Queues the frame in the shared frame buffer on a connection. The frame buffer
+     * is left unchanged so that the same frame can be sent to several connections.
+     *
+     * @param connection The connection.
+     */
+    private void send(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        if (connection.out.remaining() < frame.remaining()) {
+            close(connection); // The client is not keeping up
+            return;
+        }
+        int start = frame.position();
+        connection.out.put(frame);
+        frame.position(start);
+        if (!connection.queued) {
+            connection.queued = true;
+            flushQueue.add(connection);
+        }
+    }
+
+    /**
+     * Flushes every connection with queued frames.
+     */
+    private void flushQueued() {
+        for (int i = 0; i < flushQueue.size(); i++) {
+            Connection connection = flushQueue.get(i);
+            connection.queued = false;
+            if (!connection.closed) {
+                flush(connection);
+            }
+        }
+        flushQueue.clear();
+    }
+
+    /**
+     * Writes as much queued data as the socket accepts, and waits for the socket
+     * to become writable again if some is left.
+     *
+     * @param connection The connection.
+     */
+    private void flush(Connection connection) {
+        ByteBuffer out = connection.out;
+        out.flip();
+        try {
+            connection.channel.write(out);
+        } catch (IOException e) {
+            out.compact();
+            close(connection);
+            return;
+        }
+        int ops = out.hasRemaining() ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        out.compact();
+        if (connection.key.interestOps() != ops) {
+            connection.key.interestOps(ops);
+        }
+    }
+
+    /**
+     * Removes the games evicted by the session manager for being idle,
+     * telling their remaining connections that the game is closed.
+     */
+    private void sweepIdleRooms() {
+        sessions.evictIdle();
+        for (Iterator<Room> it = rooms.values().iterator(); it.hasNext(); ) {
+            Room room = it.next();
+            if (sessions.contains(room.session.getId())) {
+                continue;
+            }
+            it.remove();
+            for (Connection player : room.players) {
+                if (player != null) {
+                    leaveClosedRoom(player);
+                }
+            }
+            for (Connection spectator : room.spectators) {
+                leaveClosedRoom(spectator);
+            }
+        }
+    }
+
+    /**
+     * Detaches a connection from a game that was closed, so it may create or join another.
+     *
+     * @param connection The connection.
+     */
+    private void leaveClosedRoom(Connection connection) {
+        connection.room = null;
+        sendError(connection, GameProtocol.STATE, GameProtocol.SESSION_CLOSED);
+    }
+
+    /**
+     * Closes a connection, leaves its game and returns its buffers to the pool.
+     * A game is removed when its last connection leaves.
+     *
+     * @param connection The connection.
+     */
+    private void close(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        connection.closed = true;
+        connectionCount--;
+        closeQuietly(connection.key);
+
+        Room room = connection.room;
+        if (room != null) {
+            if (connection.role == GameProtocol.SPECTATOR) {
+                room.spectators.remove(connection);
+            } else {
+                room.players[connection.role - 1] = null;
+            }
+            if (room.isEmpty()) {
+                long id = room.session.getId();
+                rooms.remove(id);
+                sessions.remove(id);
+            }
+            connection.room = null;
+        }
+
+        connection.in.clear();
+        connection.out.clear();
+        freeReadBuffers.push(connection.in);
+        freeWriteBuffers.push(connection.out);
+    }
+
+    /**
+     * Takes a buffer from a pool, allocating a new one if the pool is empty.
+     *
+     * @param pool The pool.
+     * @param size The buffer size.
+     * @return An empty direct buffer.
+     */
+    private static ByteBuffer takeBuffer(ArrayDeque<ByteBuffer> pool, int size) {
+        ByteBuffer buffer = pool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(size);
+    }
+
+    /**
+     * Cancels a key and closes its channel, ignoring errors.
+     *
+     * @param key The selection key.
+     */
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    /**
+     * Closes a resource, ignoring errors.
+     *
+     * @param closeable The resource.
+     */
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing left to do with it
+        }
+    }
+
+    /**
+     * Starts a server on the loopback interface.
+     *
+     * @param args Optional: port (default 7777), maximum connections (default 10000),
+     *             idle timeout in seconds (default 600).
+     * @throws IOException If the socket cannot be opened.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxConnections = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        long idleSeconds = args.length > 2 ? Long.parseLong(args[2]) : 600;
+
+        GameSessionManager sessions = new GameSessionManager(maxConnections, idleSeconds * 1000);
+        GameServer server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                maxConnections, sessions);
+        System.out.println("Jungle King server listening on " + server.serverChannel.getLocalAddress());
+        server.run();
+    }
+}
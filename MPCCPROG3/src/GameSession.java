@@ -0,0 +1,135 @@
+/**
+ * One hosted game, validated against the bitboard rules of MoveGenerator.
+ * Every session guards its state with its own monitor, so moves on different
+ * sessions never contend with each other.
+ *
+ * A session only keeps what is needed to continue the game: the current position,
+ * the winner and the last move. The position has a one-move undo stack that is
+ * discarded after every move, so a session costs a few hundred bytes however long
+ * the game runs.
+ */
+public class GameSession {
+    private final long id;
+    private final Position position = new Position(1);
+    private final int[] scratch = new int[4]; // At most four moves from one square
+    private int winner;                       // ID of the winning player, or 0 while the game runs
+    private int moveCount;
+    private int lastMove = Move.NONE;
+    private volatile long lastActive;         // System.nanoTime() of the last move or lookup
+
+    /**
+     * Constructs a session at the start position.
+     *
+     * @param id           The session ID.
+     * @param player1First True if Player 1 moves first.
+     */
+    public GameSession(long id, boolean player1First) {
+        this.id = id;
+        position.setStartPosition();
+        position.setSideToMove(player1First ? Position.PLAYER1 : Position.PLAYER2);
+        touch();
+    }
+
+    /**
+     * Gets the session ID.
+     *
+     * @return The ID given by the session manager.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Plays a move for a player if it is legal. A move onto the enemy den wins the game;
+     * when the opponent has no pieces left the mover keeps the turn, as in GameModel.
+     *
+     * @param playerId The ID of the player making the move (1 or 2).
+     * @param from     The origin square index.
+     * @param to       The destination square index, the landing square for a lake jump.
+     * @return NONE if the move was played, otherwise the reason it was rejected.
+     */
+    public synchronized MoveResult.Rejection play(int playerId, int from, int to) {
+        touch();
+        if (winner != 0) {
+            return MoveResult.Rejection.GAME_OVER;
+        }
+        if (from < 0 || from >= Position.SQUARES || to < 0 || to >= Position.SQUARES) {
+            return MoveResult.Rejection.OUT_OF_BOUNDS;
+        }
+        int side = playerId - 1;
+        int code = position.pieceAt(from);
+        if (code == Position.EMPTY) {
+            return MoveResult.Rejection.NO_PIECE;
+        }
+        if (Position.sideOf(code) != side || position.sideToMove() != side) {
+            return MoveResult.Rejection.NOT_YOUR_TURN;
+        }
+        int move = MoveGenerator.find(position, from, to, scratch);
+        if (move == Move.NONE) {
+            return MoveResult.Rejection.ILLEGAL;
+        }
+
+        position.makeMove(move);
+        position.discardHistory();
+        moveCount++;
+        lastMove = move;
+        if (position.hasReachedDen(side)) {
+            winner = playerId;
+        } else if (!position.hasPiecesLeft(side ^ 1)) {
+            position.setSideToMove(side);
+        }
+        return MoveResult.Rejection.NONE;
+    }
+
+    /**
+     * Copies the current position, for sending the game state to a client.
+     *
+     * @param target The position to copy into.
+     */
+    public synchronized void copyPositionTo(Position target) {
+        target.copyFrom(position);
+    }
+
+    /**
+     * Gets the winner of the game.
+     *
+     * @return The ID of the winning player, or 0 if the game is still running.
+     */
+    public synchronized int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the number of moves played.
+     *
+     * @return The number of accepted moves.
+     */
+    public synchronized int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Gets the last move played.
+     *
+     * @return The packed move, or Move.NONE before the first move.
+     */
+    public synchronized int getLastMove() {
+        return lastMove;
+    }
+
+    /**
+     * Marks the session as active now, keeping it from being evicted.
+     */
+    public void touch() {
+        lastActive = System.nanoTime();
+    }
+
+    /**
+     * Gets the time of the last activity.
+     *
+     * @return The System.nanoTime() value of the last move or lookup.
+     */
+    public long getLastActive() {
+        return lastActive;
+    }
+}
@@ -0,0 +1,145 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts many independent games keyed by ID. Lookups go through a ConcurrentHashMap
+ * and every GameSession has its own lock, so threads playing different games never
+ * wait for each other.
+ *
+ * Memory is bounded by a maximum number of sessions. Sessions that have seen no
+ * activity for the idle timeout are removed by evictIdle(), which the owner calls
+ * periodically; create() also evicts idle sessions before refusing a new one.
+ */
+public class GameSessionManager {
+    private final ConcurrentHashMap<Long, GameSession> sessions;
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicInteger count = new AtomicInteger(); // Sessions created and not yet removed
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+
+    /**
+     * Constructs a session manager.
+     *
+     * @param maxSessions   The maximum number of sessions hosted at once.
+     * @param idleTimeoutMs The time without activity after which a session may be evicted.
+     */
+    public GameSessionManager(int maxSessions, long idleTimeoutMs) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("maxSessions must be positive");
+        }
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = idleTimeoutMs * 1_000_000L;
+        sessions = new ConcurrentHashMap<>(Math.min(maxSessions, 1 << 16));
+    }
+
+    /**
+     * Creates a new session at the start position.
+     *
+     * @param player1First True if Player 1 moves first.
+     * @return The new session.
+     * @throws IllegalStateException If the session limit is reached even after evicting idle sessions.
+     */
+    public GameSession create(boolean player1First) {
+        if (!reserve()) {
+            evictIdle();
+            if (!reserve()) {
+                throw new IllegalStateException("Session limit of " + maxSessions + " reached");
+            }
+        }
+        GameSession session = new GameSession(nextId.getAndIncrement(), player1First);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Takes one slot from the session limit.
+     *
+     * @return True if a slot was free.
+     */
+    private boolean reserve() {
+        while (true) {
+            int current = count.get();
+            if (current >= maxSessions) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Looks up a session and marks it as active.
+     *
+     * @param id The session ID.
+     * @return The session, or null if there is none with that ID.
+     */
+    public GameSession get(long id) {
+        GameSession session = sessions.get(id);
+        if (session != null) {
+            session.touch();
+        }
+        return session;
+    }
+
+    /**
+     * Checks if a session is still hosted, without marking it as active.
+     *
+     * @param id The session ID.
+     * @return True if the session has not been removed or evicted.
+     */
+    public boolean contains(long id) {
+        return sessions.containsKey(id);
+    }
+
+    /**
+     * Removes a session.
+     *
+     * @param id The session ID.
+     * @return True if the session existed.
+     */
+    public boolean remove(long id) {
+        if (sessions.remove(id) != null) {
+            count.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes every session without activity for longer than the idle timeout.
+     *
+     * @return The number of sessions removed.
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (GameSession session : sessions.values()) {
+            // remove(key, value) skips a session that another thread already removed
+            if (now - session.getLastActive() > idleTimeoutNanos && sessions.remove(session.getId(), session)) {
+                count.decrementAndGet();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Gets the number of hosted sessions.
+     *
+     * @return The number of sessions.
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Gets the maximum number of sessions.
+     *
+     * @return The session limit.
+     */
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+}
@@ -1,8 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultStyledDocument;
 import javax.swing.text.Style;
@@ -15,9 +13,8 @@ import javax.swing.text.SimpleAttributeSet;
  * including button clicks and updating the interface based on the game
  */
 public class GameView extends JFrame {
-    private JButton[][] boardButtons;
+    private BoardComponent boardView;
     private GameController controller;
-    private final Color PASTEL_BLUE = new Color(173, 216, 230); // Light blue color for lakes
     private final Color WARM_WHITE = new Color(255, 247, 243); // #fff7f3
     private final Color LIGHT_PINK = new Color(251, 199, 218); // #fbc7da
     private final Color PLAYER1_STROKE = new Color(230, 178, 186); // #E6B2BA
@@ -61,9 +58,9 @@ public class GameView extends JFrame {
     private ImageIcon tigerIconP1, tigerIconP2;
     private ImageIcon lionIconP1, lionIconP2;
     private ImageIcon elephantIconP1, elephantIconP2;
+    private final SpriteCache sprites = new SpriteCache(); // The images above, scaled to the cell size
     private JLabel turnLabel;
     private JLabel statusLabel;
-    private JButton selectedButton = null;
     private JTextPane moveHistoryArea;
     private int moveCount = 0;
     private String player1Name;
@@ -79,63 +76,54 @@ public class GameView extends JFrame {
     public GameView(GameController controller) {
         this.controller = controller;
         // Load the lake images and store original images
-        originalLakeImageWhite = new ImageIcon("assets/laketilewhite.png").getImage();
-        originalLakeImagePink = new ImageIcon("assets/laketilepink.png").getImage();
-        originalGrassImage = new ImageIcon("assets/grasstile.png").getImage();
-        originalDirtImage = new ImageIcon("assets/dirttile.png").getImage();
+        originalLakeImageWhite = AssetRegistry.getImage("assets/laketilewhite.png");
+        originalLakeImagePink = AssetRegistry.getImage("assets/laketilepink.png");
+        originalGrassImage = AssetRegistry.getImage("assets/grasstile.png");
+        originalDirtImage = AssetRegistry.getImage("assets/dirttile.png");
 
         // Load home base images
-        homeBaseP1Icon = new ImageIcon("assets/homebasep1.png");
-        homeBaseP2Icon = new ImageIcon("assets/homebasep2.png");
+        homeBaseP1Icon = AssetRegistry.getIcon("assets/homebasep1.png");
+        homeBaseP2Icon = AssetRegistry.getIcon("assets/homebasep2.png");
 
         // Load lake tiles
-        lake13Icon = new ImageIcon("assets/lake13.png");
-        lake14Icon = new ImageIcon("assets/lake14.png");
-        lake15Icon = new ImageIcon("assets/lake15.png");
-        lake23Icon = new ImageIcon("assets/lake23.png");
-        lake24Icon = new ImageIcon("assets/lake24.png");
-        lake25Icon = new ImageIcon("assets/lake25.png");
-        lake43Icon = new ImageIcon("assets/lake43.png");
-        lake44Icon = new ImageIcon("assets/lake44.png");
-        lake45Icon = new ImageIcon("assets/lake45.png");
-        lake53Icon = new ImageIcon("assets/lake53.png");
-        lake54Icon = new ImageIcon("assets/lake54.png");
-        lake55Icon = new ImageIcon("assets/lake55.png");
+        lake13Icon = AssetRegistry.getIcon("assets/lake13.png");
+        lake14Icon = AssetRegistry.getIcon("assets/lake14.png");
+        lake15Icon = AssetRegistry.getIcon("assets/lake15.png");
+        lake23Icon = AssetRegistry.getIcon("assets/lake23.png");
+        lake24Icon = AssetRegistry.getIcon("assets/lake24.png");
+        lake25Icon = AssetRegistry.getIcon("assets/lake25.png");
+        lake43Icon = AssetRegistry.getIcon("assets/lake43.png");
+        lake44Icon = AssetRegistry.getIcon("assets/lake44.png");
+        lake45Icon = AssetRegistry.getIcon("assets/lake45.png");
+        lake53Icon = AssetRegistry.getIcon("assets/lake53.png");
+        lake54Icon = AssetRegistry.getIcon("assets/lake54.png");
+        lake55Icon = AssetRegistry.getIcon("assets/lake55.png");
 
         // Load trap icons
-        trapIconP120 = new ImageIcon("assets/trapp120.png");
-        trapIconP131 = new ImageIcon("assets/trapp131.png");
-        trapIconP140 = new ImageIcon("assets/trapp140.png");
-        trapIconP228 = new ImageIcon("assets/trapp228.png");
-        trapIconP237 = new ImageIcon("assets/trapp237.png");
-        trapIconP248 = new ImageIcon("assets/trapp248.png");
+        trapIconP120 = AssetRegistry.getIcon("assets/trapp120.png");
+        trapIconP131 = AssetRegistry.getIcon("assets/trapp131.png");
+        trapIconP140 = AssetRegistry.getIcon("assets/trapp140.png");
+        trapIconP228 = AssetRegistry.getIcon("assets/trapp228.png");
+        trapIconP237 = AssetRegistry.getIcon("assets/trapp237.png");
+        trapIconP248 = AssetRegistry.getIcon("assets/trapp248.png");
 
         // Load all animal icons
-        ratIconP1 = new ImageIcon("assets/ratp1.png");
-        ratIconP2 = new ImageIcon("assets/ratp2.png");
-        catIconP1 = new ImageIcon("assets/catp1.png");
-        catIconP2 = new ImageIcon("assets/catp2.png");
-        dogIconP1 = new ImageIcon("assets/dogp1.png");
-        dogIconP2 = new ImageIcon("assets/dogp2.png");
-        wolfIconP1 = new ImageIcon("assets/wolfp1.png");
-        wolfIconP2 = new ImageIcon("assets/wolfp2.png");
-        leopardIconP1 = new ImageIcon("assets/leopardp1.png");
-        leopardIconP2 = new ImageIcon("assets/leopardp2.png");
-        tigerIconP1 = new ImageIcon("assets/tigerp1.png");
-        tigerIconP2 = new ImageIcon("assets/tigerp2.png");
-        lionIconP1 = new ImageIcon("assets/lionp1.png");
-        lionIconP2 = new ImageIcon("assets/lionp2.png");
-        elephantIconP1 = new ImageIcon("assets/elephantp1.png");
-        elephantIconP2 = new ImageIcon("assets/elephantp2.png");
-
-        // Initial scaling will be done when the window is first shown
-        addComponentListener(new ComponentAdapter() {
-            @Override
-            public void componentResized(ComponentEvent e) {
-                updateLakeImages();
-                updateBoard(GameView.this.controller.getModel());
-            }
-        });
+        ratIconP1 = AssetRegistry.getIcon("assets/ratp1.png");
+        ratIconP2 = AssetRegistry.getIcon("assets/ratp2.png");
+        catIconP1 = AssetRegistry.getIcon("assets/catp1.png");
+        catIconP2 = AssetRegistry.getIcon("assets/catp2.png");
+        dogIconP1 = AssetRegistry.getIcon("assets/dogp1.png");
+        dogIconP2 = AssetRegistry.getIcon("assets/dogp2.png");
+        wolfIconP1 = AssetRegistry.getIcon("assets/wolfp1.png");
+        wolfIconP2 = AssetRegistry.getIcon("assets/wolfp2.png");
+        leopardIconP1 = AssetRegistry.getIcon("assets/leopardp1.png");
+        leopardIconP2 = AssetRegistry.getIcon("assets/leopardp2.png");
+        tigerIconP1 = AssetRegistry.getIcon("assets/tigerp1.png");
+        tigerIconP2 = AssetRegistry.getIcon("assets/tigerp2.png");
+        lionIconP1 = AssetRegistry.getIcon("assets/lionp1.png");
+        lionIconP2 = AssetRegistry.getIcon("assets/lionp2.png");
+        elephantIconP1 = AssetRegistry.getIcon("assets/elephantp1.png");
+        elephantIconP2 = AssetRegistry.getIcon("assets/elephantp2.png");
 
         setTitle("Jungle King");
         setSize(1200, 700); // Increased width from 1100 to 1200 to accommodate wider sidebar
@@ -152,8 +140,8 @@ public class GameView extends JFrame {
         helpPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 0)); // Remove border padding
 
         // Load help button icons
-        helpIcon = new ImageIcon("assets/ingamehelp.png");
-        helpIconHover = new ImageIcon("assets/ingamehelphover.png");
+        helpIcon = AssetRegistry.getIcon("assets/ingamehelp.png");
+        helpIconHover = AssetRegistry.getIcon("assets/ingamehelphover.png");
 
         // Create help button
         JButton helpButton = new JButton();
@@ -164,8 +152,8 @@ public class GameView extends JFrame {
         helpButton.setMargin(new Insets(0, 0, 0, 0)); // Remove button internal padding
 
         // Scale the icons to fit the button
-        Image img = helpIcon.getImage().getScaledInstance(55, 55, Image.SCALE_SMOOTH);
-        Image imgHover = helpIconHover.getImage().getScaledInstance(55, 55, Image.SCALE_SMOOTH);
+        Image img = SpriteCache.scale(helpIcon.getImage(), 55, 55);
+        Image imgHover = SpriteCache.scale(helpIconHover.getImage(), 55, 55);
         helpButton.setIcon(new ImageIcon(img));
         helpButton.setRolloverIcon(new ImageIcon(imgHover));
 
@@ -181,21 +169,10 @@ public class GameView extends JFrame {
         JPanel centerPanel = new JPanel();
         centerPanel.setBackground(new Color(251, 199, 218));
 
-        // Load Pokemon font
-        Font pixelFont;
-        try {
-            pixelFont = Font.createFont(Font.TRUETYPE_FONT, new File("assets/fonts/Pokemon Classic.ttf")).deriveFont(20f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(pixelFont);
-        } catch (Exception e) {
-            e.printStackTrace();
-            pixelFont = new Font("Arial", Font.BOLD, 20);
-        }
-
         // Turn label
         turnLabel = new JLabel("Player 1's Turn", SwingConstants.CENTER);
         turnLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        turnLabel.setFont(pixelFont);
+        turnLabel.setFont(FontRegistry.getPixelFont(20f));
         turnLabel.setForeground(new Color(106, 41, 66)); // Dark pink text color
         centerPanel.add(Box.createVerticalStrut(10)); // Add some padding
         centerPanel.add(turnLabel);
@@ -208,30 +185,20 @@ public class GameView extends JFrame {
         // Create main game panel with board and move history
         JPanel mainPanel = new JPanel(new BorderLayout());
 
-        // Game board panel
-        JPanel boardPanel = new JPanel(new GridLayout(7, 9, 0, 0)); // Set grid gaps to 0
-        boardPanel.setBackground(new Color(251, 199, 218)); // Set to light pink to match checkerboard
-        boardPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 0)); // Remove panel border
-
-        boardButtons = new JButton[7][9];
-        Font pieceFont = new Font("Segoe UI Emoji", Font.PLAIN, 36); // Larger font for pieces
-
-        for (int i = 0; i < 7; i++) {
-            for (int j = 0; j < 9; j++) {
-                boardButtons[i][j] = new JButton();
-                boardButtons[i][j].setPreferredSize(new Dimension(80, 80));
-                boardButtons[i][j].setBackground((i + j) % 2 == 0 ? WARM_WHITE : LIGHT_PINK);
-                boardButtons[i][j].setBorder(null); // Remove button borders completely
-                boardButtons[i][j].setFont(pieceFont);
-                boardButtons[i][j].setFocusPainted(false); // Disable focus painting
-                final int row = i;
-                final int col = j;
-                boardButtons[i][j].addActionListener(e -> controller.handlePieceClick(row, col));
-                boardPanel.add(boardButtons[i][j]);
+        // Game board, painted as a single component
+        boardView = new BoardComponent(WARM_WHITE, LIGHT_PINK);
+        boardView.setSquareListener(controller::handlePieceClick);
+
+        // Initial scaling will be done when the board is first laid out
+        boardView.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                updateLakeImages();
+                updateBoard(GameView.this.controller.getModel());
             }
-        }
+        });
 
-        mainPanel.add(boardPanel, BorderLayout.CENTER);
+        mainPanel.add(boardView, BorderLayout.CENTER);
 
         // Move history panel
         JPanel historyPanel = new JPanel(new BorderLayout());
@@ -240,13 +207,13 @@ public class GameView extends JFrame {
         historyPanel.setPreferredSize(new Dimension(300, 0)); // Set fixed width for history panel
 
         JLabel historyLabel = new JLabel("Move History", SwingConstants.CENTER);
-        historyLabel.setFont(pixelFont.deriveFont(16f));
+        historyLabel.setFont(FontRegistry.getPixelFont(16f));
         historyLabel.setForeground(new Color(106, 41, 66)); // Dark pink text color
         historyPanel.add(historyLabel, BorderLayout.NORTH);
 
         moveHistoryArea = new JTextPane();
         moveHistoryArea.setEditable(false);
-        moveHistoryArea.setFont(pixelFont.deriveFont(12f));
+        moveHistoryArea.setFont(FontRegistry.getPixelFont(12f));
         moveHistoryArea.setBackground(new Color(255, 235, 241)); // Very light pink
         moveHistoryArea.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
 
@@ -271,68 +238,64 @@ public class GameView extends JFrame {
     }
 
     /**
-     * Adds a move to the move history area.
+     * Adds a move to the move history area. Accepted moves are shown in the
+     * mover's color, rejected moves in teal; rejections that need no
+     * explanation (such as clicking during the other player's turn) are not shown.
      *
-     * @param move The move to be added to the history.
+     * @param result The outcome of the move.
      */
-    public void addMoveToHistory(String move) {
-        moveCount++;
-
-        // Check if the message contains any animal being weakened by a trap
-        if (move.contains(" is weakened by a trap.")) {
-            // Find the animal name by looking at the start of the message up to " is weakened"
-            int weakenedIndex = move.indexOf(" is weakened");
-            if (weakenedIndex > 0) {
-                String animalName = move.substring(0, weakenedIndex);
-                // Split by the trap message for this specific animal
-                String[] parts = move.split(animalName + " is weakened by a trap\\.");
-                // Reconstruct with only one trap message and add space after period
-                move = parts[0] + animalName + " is weakened by a trap. " + parts[parts.length - 1];
+    public void addMoveToHistory(MoveResult result) {
+        String mover = result.getMovedType() == null ? "" : result.getMovedType().name();
+        StringBuilder text = new StringBuilder();
+        Color color;
+
+        if (result.isAccepted()) {
+            if (result.isCapture()) {
+                text.append(result.getCapturedType().name()).append(" of Player ")
+                        .append(result.getCapturedOwnerId()).append(" has been captured. ");
             }
-        }
-
-        // Check if the message contains a capture message
-        if (move.contains(" has been captured.")) {
-            // Find the piece description by looking at the start of the message up to " has been captured"
-            int captureIndex = move.indexOf(" has been captured");
-            if (captureIndex > 0) {
-                String pieceDesc = move.substring(0, captureIndex);
-                // Split by the capture message
-                String[] parts = move.split(pieceDesc + " has been captured\\.");
-                // Reconstruct with only one capture message and add space after period
-                move = parts[0] + pieceDesc + " has been captured. " + parts[parts.length - 1];
+            if (result.isWeakened()) {
+                text.append(mover).append(" is weakened by a trap. ");
             }
-        }
-
-        // Add space after any remaining periods that are followed by a letter
-        move = move.replaceAll("\\.([A-Za-z])", ". $1");
-
-        // Get the document and create a style
-        StyledDocument doc = moveHistoryArea.getStyledDocument();
-        Style style = moveHistoryArea.addStyle("moveStyle", null);
-
-        // Check if this is a lake restriction message or capture restriction message
-        String moveLower = move.toLowerCase();
-        if (moveLower.contains("cannot cross") ||
-                moveLower.contains("cannot land on") ||
-                moveLower.contains("cannot capture") ||
-                move.equals("Rat is on the lake and is unable to capture any animal!")) {
-            StyleConstants.setForeground(style, new Color(29, 152, 145)); // Teal color #1d9891
+            String square = "(" + (result.getToRow() + 1) + ", " + (result.getToCol() + 1) + ")";
+            if (result.hasReachedDen()) {
+                text.append(mover).append(" reached the home base at ").append(square).append("!");
+            } else if (result.hasJumpedLake()) {
+                text.append(mover).append(" jumps over the lake and landed at ").append(square);
+            } else {
+                text.append(mover).append(" moved to ").append(square);
+            }
+            color = result.getMoverId() == 1 ? new Color(189, 102, 134) : new Color(157, 127, 166); // #bd6686 for P1, #9d7fa6 for P2
         } else {
-            // Get the current color based on whose turn it is
-            boolean isP1Turn = controller.getModel().isPlayerOneTurn();
-            Color moveColor = !isP1Turn ? new Color(189, 102, 134) : new Color(157, 127, 166); // #bd6686 for P1, #9d7fa6 for P2
-            StyleConstants.setForeground(style, moveColor);
-        }
-
-        try {
-            doc.insertString(doc.getLength(), moveCount + ". " + move + "\n", style);
-        } catch (BadLocationException e) {
-            e.printStackTrace();
+            switch (result.getRejection()) {
+                case OUT_OF_BOUNDS:
+                    text.append("Move out of bounds.");
+                    break;
+                case INVALID_DIRECTION:
+                    text.append("Invalid move. Use W, A, S, or D.");
+                    break;
+                case OWN_DEN:
+                    text.append("You cannot land on your own home base!");
+                    break;
+                case LAKE:
+                    text.append(mover).append(" cannot cross or land on a lake.");
+                    break;
+                case BLOCKED_BY_RAT:
+                    text.append(mover).append(" cannot jump because a Rat blocks the path.");
+                    break;
+                case NO_LANDING:
+                    text.append(mover).append(" must land immediately after the lake.");
+                    break;
+                case CANNOT_CAPTURE:
+                    text.append("Cannot capture ").append(result.getCapturedType().name()).append(".");
+                    break;
+                default:
+                    return; // Nothing worth reporting
+            }
+            color = new Color(29, 152, 145); // Teal color #1d9891
         }
 
-        // Scroll to the bottom
-        moveHistoryArea.setCaretPosition(moveHistoryArea.getDocument().getLength());
+        appendToHistory(text.toString(), color);
     }
 
     /**
@@ -340,12 +303,29 @@ public class GameView extends JFrame {
      * and cannot capture any animal.
      */
     public void addRatLakeCaptureMessage() {
-        String message = "Rat is on the lake and is unable to capture any animal!";
+        appendToHistory("Rat is on the lake and is unable to capture any animal!", new Color(29, 152, 145)); // Teal color #1d9891
+    }
+
+    /**
+     * Adds a note such as an undone move to the move history.
+     *
+     * @param message The note to show.
+     */
+    public void addHistoryNote(String message) {
+        appendToHistory(message, new Color(29, 152, 145)); // Teal color #1d9891
+    }
 
+    /**
+     * Appends a numbered line to the move history area and scrolls to it.
+     *
+     * @param message The text of the line.
+     * @param color The text color.
+     */
+    private void appendToHistory(String message, Color color) {
         // Get the document and create a style
         StyledDocument doc = moveHistoryArea.getStyledDocument();
         Style style = moveHistoryArea.addStyle("moveStyle", null);
-        StyleConstants.setForeground(style, new Color(29, 152, 145)); // Teal color #1d9891
+        StyleConstants.setForeground(style, color);
 
         try {
             doc.insertString(doc.getLength(), ++moveCount + ". " + message + "\n", style);
@@ -359,105 +339,52 @@ public class GameView extends JFrame {
 
     /**
      * Updates the images of various elements on the board, scaling them according to
-     * the current button size.
+     * the current cell size.
      */
     private void updateLakeImages() {
-        // Get current button size
-        if (boardButtons != null && boardButtons[0][0] != null) {
-            int buttonWidth = boardButtons[0][0].getWidth();
-            int buttonHeight = boardButtons[0][0].getHeight();
-
-            // Only update if button has valid size
-            if (buttonWidth > 0 && buttonHeight > 0) {
-                // Scale images to match current button size
-                Image scaledWhite = originalLakeImageWhite.getScaledInstance(buttonWidth, buttonHeight, Image.SCALE_SMOOTH);
-                Image scaledPink = originalLakeImagePink.getScaledInstance(buttonWidth, buttonHeight, Image.SCALE_SMOOTH);
-                Image scaledGrass = originalGrassImage.getScaledInstance(buttonWidth, buttonHeight, Image.SCALE_SMOOTH);
-                Image scaledDirt = originalDirtImage.getScaledInstance(buttonWidth, buttonHeight, Image.SCALE_SMOOTH);
+        // Get current cell size
+        if (boardView != null) {
+            int buttonWidth = boardView.getCellWidth();
+            int buttonHeight = boardView.getCellHeight();
+
+            // Only rescale when the cell size has changed; each original is scaled once per size
+            if (buttonWidth > 0 && buttonHeight > 0 && sprites.setCellSize(buttonWidth, buttonHeight)) {
+                scaledLakeImageWhite = sprites.get(originalLakeImageWhite);
+                scaledLakeImagePink = sprites.get(originalLakeImagePink);
+                scaledGrassImage = sprites.get(originalGrassImage);
+                scaledDirtImage = sprites.get(originalDirtImage);
 
                 // Scale home base images
-                scaledHomeBaseP1 = scaleIcon(homeBaseP1Icon, buttonWidth, buttonHeight);
-                scaledHomeBaseP2 = scaleIcon(homeBaseP2Icon, buttonWidth, buttonHeight);
+                scaledHomeBaseP1 = sprites.get(homeBaseP1Icon);
+                scaledHomeBaseP2 = sprites.get(homeBaseP2Icon);
 
                 // Scale lake tiles
-                scaledLake13 = scaleIcon(lake13Icon, buttonWidth, buttonHeight);
-                scaledLake14 = scaleIcon(lake14Icon, buttonWidth, buttonHeight);
-                scaledLake15 = scaleIcon(lake15Icon, buttonWidth, buttonHeight);
-                scaledLake23 = scaleIcon(lake23Icon, buttonWidth, buttonHeight);
-                scaledLake24 = scaleIcon(lake24Icon, buttonWidth, buttonHeight);
-                scaledLake25 = scaleIcon(lake25Icon, buttonWidth, buttonHeight);
-                scaledLake43 = scaleIcon(lake43Icon, buttonWidth, buttonHeight);
-                scaledLake44 = scaleIcon(lake44Icon, buttonWidth, buttonHeight);
-                scaledLake45 = scaleIcon(lake45Icon, buttonWidth, buttonHeight);
-                scaledLake53 = scaleIcon(lake53Icon, buttonWidth, buttonHeight);
-                scaledLake54 = scaleIcon(lake54Icon, buttonWidth, buttonHeight);
-                scaledLake55 = scaleIcon(lake55Icon, buttonWidth, buttonHeight);
-
-                // Scale trap icons
-                trapIconP120 = scaleIcon(trapIconP120, buttonWidth, buttonHeight);
-                trapIconP131 = scaleIcon(trapIconP131, buttonWidth, buttonHeight);
-                trapIconP140 = scaleIcon(trapIconP140, buttonWidth, buttonHeight);
-                trapIconP228 = scaleIcon(trapIconP228, buttonWidth, buttonHeight);
-                trapIconP237 = scaleIcon(trapIconP237, buttonWidth, buttonHeight);
-                trapIconP248 = scaleIcon(trapIconP248, buttonWidth, buttonHeight);
-
-                // Scale all animal icons
-                scaleAnimalIcons(buttonWidth, buttonHeight);
-
-                scaledLakeImageWhite = new ImageIcon(scaledWhite);
-                scaledLakeImagePink = new ImageIcon(scaledPink);
-                scaledGrassImage = new ImageIcon(scaledGrass);
-                scaledDirtImage = new ImageIcon(scaledDirt);
+                scaledLake13 = sprites.get(lake13Icon);
+                scaledLake14 = sprites.get(lake14Icon);
+                scaledLake15 = sprites.get(lake15Icon);
+                scaledLake23 = sprites.get(lake23Icon);
+                scaledLake24 = sprites.get(lake24Icon);
+                scaledLake25 = sprites.get(lake25Icon);
+                scaledLake43 = sprites.get(lake43Icon);
+                scaledLake44 = sprites.get(lake44Icon);
+                scaledLake45 = sprites.get(lake45Icon);
+                scaledLake53 = sprites.get(lake53Icon);
+                scaledLake54 = sprites.get(lake54Icon);
+                scaledLake55 = sprites.get(lake55Icon);
+                // Trap and animal icons are scaled on first use through the cache
             }
         }
     }
 
     /**
-     * Scales the animal icons to match the given width and height.
-     *
-     * @param width  The width to scale the icons to.
-     * @param height The height to scale the icons to.
-     */
-    private void scaleAnimalIcons(int width, int height) {
-        ratIconP1 = scaleIcon(ratIconP1, width, height);
-        ratIconP2 = scaleIcon(ratIconP2, width, height);
-        catIconP1 = scaleIcon(catIconP1, width, height);
-        catIconP2 = scaleIcon(catIconP2, width, height);
-        dogIconP1 = scaleIcon(dogIconP1, width, height);
-        dogIconP2 = scaleIcon(dogIconP2, width, height);
-        wolfIconP1 = scaleIcon(wolfIconP1, width, height);
-        wolfIconP2 = scaleIcon(wolfIconP2, width, height);
-        leopardIconP1 = scaleIcon(leopardIconP1, width, height);
-        leopardIconP2 = scaleIcon(leopardIconP2, width, height);
-        tigerIconP1 = scaleIcon(tigerIconP1, width, height);
-        tigerIconP2 = scaleIcon(tigerIconP2, width, height);
-        lionIconP1 = scaleIcon(lionIconP1, width, height);
-        lionIconP2 = scaleIcon(lionIconP2, width, height);
-        elephantIconP1 = scaleIcon(elephantIconP1, width, height);
-        elephantIconP2 = scaleIcon(elephantIconP2, width, height);
-    }
-
-    /**
-     * Scales an icon to the given width and height.
-     *
-     * @param icon  The icon to scale.
-     * @param width The desired width of the scaled icon.
-     * @param height The desired height of the scaled icon.
-     * @return The scaled icon.
-     */
-    private ImageIcon scaleIcon(ImageIcon icon, int width, int height) {
-        return new ImageIcon(icon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH));
-    }
-
-    /**
-     * Gets the icon associated with a specific piece and player ID.
+     * Gets the icon associated with a specific piece and player ID, scaled to the cell size.
      *
      * @param piece    The name of the piece (e.g., "Rat", "Cat", etc.).
      * @param playerId The player ID (1 or 2).
      * @return The icon for the specified piece and player.
      */
     private ImageIcon getIconForPiece(String piece, int playerId) {
-        return switch (piece) {
+        ImageIcon icon = switch (piece) {
             case "Rat" -> playerId == 1 ? ratIconP1 : ratIconP2;
             case "Cat" -> playerId == 1 ? catIconP1 : catIconP2;
             case "Dog" -> playerId == 1 ? dogIconP1 : dogIconP2;
@@ -468,275 +395,142 @@ public class GameView extends JFrame {
             case "Elephant" -> playerId == 1 ? elephantIconP1 : elephantIconP2;
             default -> null;
         };
+        return icon != null ? sprites.get(icon) : null;
     }
 
     /**
      * Updates the game board to reflect the current state.
-     * This includes updating the turn label, the lake images, and the piece icons for each square.
-     * It also checks for the presence of pieces (such as Rats or Traps) and updates the button's appearance accordingly.
+     * This includes updating the turn label, the lake images, and the tile of each square.
+     * Only squares whose tile changed are repainted.
      *
      * @param model The current GameModel representing the state of the game.
      */
     public void updateBoard(GameModel model) {
-        // Update turn label with player name
-        boolean isP1Turn = model.isPlayerOneTurn();
-        turnLabel.setText((isP1Turn ? player1Name : player2Name) + "'s Turn");
-        // Set color based on whose turn it is
-        turnLabel.setForeground(isP1Turn ? new Color(147, 80, 108) : new Color(157, 127, 166)); // #93506c for P1, #9d7fa6 for P2
+        updateTurnLabel(model);
 
         // Update lake images if needed
         updateLakeImages();
+        if (!sprites.hasCellSize()) {
+            return; // Not laid out yet; the first resize draws the board
+        }
 
         for (int row = 0; row < 7; row++) {
             for (int col = 0; col < 9; col++) {
-                String piece = model.getPieceAt(row, col);
-                JButton button = boardButtons[row][col];
-
-                Square square = model.getBoard().getSquare(row, col);
-                //set checkerboard pattern
-                if (square == null) {
-                    if ((row + col) % 2 == 0) {
-                        button.setBackground(null);
-                        button.setIcon(scaledGrassImage);
-                    } else {
-                        button.setBackground(null);
-                        button.setIcon(scaledDirtImage);
-                    }
-                    button.setText("");
-                    continue;
-                }
-
-                //even if rat is on water, lake bg is still image
-                Terrain squared = square.getTerrain();
-                if (squared != null && squared.isLake()) {
-                    // Set the specific lake tile based on position
-                    ImageIcon lakeIcon = null;
-                    if (row == 1 && col == 3) lakeIcon = scaledLake13;
-                    else if (row == 1 && col == 4) lakeIcon = scaledLake14;
-                    else if (row == 1 && col == 5) lakeIcon = scaledLake15;
-                    else if (row == 2 && col == 3) lakeIcon = scaledLake23;
-                    else if (row == 2 && col == 4) lakeIcon = scaledLake24;
-                    else if (row == 2 && col == 5) lakeIcon = scaledLake25;
-                    else if (row == 4 && col == 3) lakeIcon = scaledLake43;
-                    else if (row == 4 && col == 4) lakeIcon = scaledLake44;
-                    else if (row == 4 && col == 5) lakeIcon = scaledLake45;
-                    else if (row == 5 && col == 3) lakeIcon = scaledLake53;
-                    else if (row == 5 && col == 4) lakeIcon = scaledLake54;
-                    else if (row == 5 && col == 5) lakeIcon = scaledLake55;
-
-                    if (lakeIcon != null) {
-                        button.setIcon(lakeIcon);
-                    } else {
-                        button.setIcon(null);
-                        button.setBackground(PASTEL_BLUE);
-                    }
-                    button.setBackground((row + col) % 2 == 0 ? WARM_WHITE : LIGHT_PINK);
-
-                    // If there's a rat on the lake
-                    if (piece != null && piece.equals("Rat")) {
-                        button.setText("");
-                        // Create a layered icon with lake and rat
-                        if (model.getBoard().getSquare(row, col).getPiece().getPlayer().getId() == 1) {
-                            ImageIcon ratIcon = ratIconP1;
-                            if (button.getIcon() != null) {
-                                // Create composite icon
-                                Image lakeImg = ((ImageIcon)button.getIcon()).getImage();
-                                Image ratImg = ratIcon.getImage();
-                                BufferedImage combined = new BufferedImage(
-                                        lakeImg.getWidth(null),
-                                        lakeImg.getHeight(null),
-                                        BufferedImage.TYPE_INT_ARGB
-                                );
-                                Graphics g = combined.getGraphics();
-                                g.drawImage(lakeImg, 0, 0, null);
-                                g.drawImage(ratImg, 0, 0, null);
-                                g.dispose();
-                                button.setIcon(new ImageIcon(combined));
-                            }
-                        } else {
-                            ImageIcon ratIcon = ratIconP2;
-                            if (button.getIcon() != null) {
-                                // Create composite icon
-                                Image lakeImg = ((ImageIcon)button.getIcon()).getImage();
-                                Image ratImg = ratIcon.getImage();
-                                BufferedImage combined = new BufferedImage(
-                                        lakeImg.getWidth(null),
-                                        lakeImg.getHeight(null),
-                                        BufferedImage.TYPE_INT_ARGB
-                                );
-                                Graphics g = combined.getGraphics();
-                                g.drawImage(lakeImg, 0, 0, null);
-                                g.drawImage(ratImg, 0, 0, null);
-                                g.dispose();
-                                button.setIcon(new ImageIcon(combined));
-                            }
-                        }
-                    }
-                    continue;
-                }
-
-                // Reset transparency for non-lake tiles
-                button.setContentAreaFilled(true);
-                button.setOpaque(true);
-                button.setIcon(null);
-
-                if (piece != null) {
-                    if (piece.equals("X")) {
-                        ImageIcon trapIcon = null;
-                        // Determine which trap icon to use based on position
-                        if (row == 2 && col == 0) trapIcon = trapIconP120;
-                        else if (row == 3 && col == 1) trapIcon = trapIconP131;
-                        else if (row == 4 && col == 0) trapIcon = trapIconP140;
-                        else if (row == 2 && col == 8) trapIcon = trapIconP228;
-                        else if (row == 3 && col == 7) trapIcon = trapIconP237;
-                        else if (row == 4 && col == 8) trapIcon = trapIconP248;
-
-                        if (trapIcon != null) {
-                            if ((row + col) % 2 == 0) {
-                                button.setBackground(null);
-                                // Create composite icon with grass background and trap
-                                Image grassImg = scaledGrassImage.getImage();
-                                Image trapImg = trapIcon.getImage();
-                                BufferedImage combined = new BufferedImage(
-                                        grassImg.getWidth(null),
-                                        grassImg.getHeight(null),
-                                        BufferedImage.TYPE_INT_ARGB
-                                );
-                                Graphics g = combined.getGraphics();
-                                g.drawImage(grassImg, 0, 0, null);
-                                g.drawImage(trapImg, 0, 0, null);
-                                g.dispose();
-                                button.setIcon(new ImageIcon(combined));
-                            } else {
-                                button.setBackground(null);
-                                // Create composite icon with dirt background and trap
-                                Image dirtImg = scaledDirtImage.getImage();
-                                Image trapImg = trapIcon.getImage();
-                                BufferedImage combined = new BufferedImage(
-                                        dirtImg.getWidth(null),
-                                        dirtImg.getHeight(null),
-                                        BufferedImage.TYPE_INT_ARGB
-                                );
-                                Graphics g = combined.getGraphics();
-                                g.drawImage(dirtImg, 0, 0, null);
-                                g.drawImage(trapImg, 0, 0, null);
-                                g.dispose();
-                                button.setIcon(new ImageIcon(combined));
-                            }
-                            button.setText("");
-                        } else {  // Any other X positions still use flag emoji
-                            if ((row + col) % 2 == 0) {
-                                button.setBackground(null);
-                                button.setIcon(scaledGrassImage);
-                            } else {
-                                button.setBackground(null);
-                                button.setIcon(scaledDirtImage);
-                            }
-                            button.setForeground(Color.RED);
-                            button.setText("🚩");
-                        }
-                    } else if (piece.contains("~")) {
-                        button.setBackground(PASTEL_BLUE);
-                        button.setText("");
-                        button.setIcon(null);
-                    } else {
-                        if ((row + col) % 2 == 0) {
-                            button.setBackground(null);
-                            ImageIcon pieceIcon = getIconForPiece(piece, model.getBoard().getSquare(row, col).getPiece().getPlayer().getId());
-                            if (pieceIcon != null) {
-                                // Create composite icon with grass background and piece
-                                Image grassImg = scaledGrassImage.getImage();
-                                Image animalImg = pieceIcon.getImage();
-                                BufferedImage combined = new BufferedImage(
-                                        grassImg.getWidth(null),
-                                        grassImg.getHeight(null),
-                                        BufferedImage.TYPE_INT_ARGB
-                                );
-                                Graphics g = combined.getGraphics();
-                                g.drawImage(grassImg, 0, 0, null);
-                                g.drawImage(animalImg, 0, 0, null);
-                                g.dispose();
-                                button.setIcon(new ImageIcon(combined));
-                            } else {
-                                button.setIcon(scaledGrassImage);
-                            }
-                        } else {
-                            button.setBackground(null);
-                            ImageIcon pieceIcon = getIconForPiece(piece, model.getBoard().getSquare(row, col).getPiece().getPlayer().getId());
-                            if (pieceIcon != null) {
-                                // Create composite icon with dirt background and piece
-                                Image dirtImg = scaledDirtImage.getImage();
-                                Image animalImg = pieceIcon.getImage();
-                                BufferedImage combined = new BufferedImage(
-                                        dirtImg.getWidth(null),
-                                        dirtImg.getHeight(null),
-                                        BufferedImage.TYPE_INT_ARGB
-                                );
-                                Graphics g = combined.getGraphics();
-                                g.drawImage(dirtImg, 0, 0, null);
-                                g.drawImage(animalImg, 0, 0, null);
-                                g.dispose();
-                                button.setIcon(new ImageIcon(combined));
-                            } else {
-                                button.setIcon(scaledDirtImage);
-                            }
-                        }
-                        button.setText("");
-                    }
-                } else {
-                    // Check if this is a home base square
-                    if (square != null && (square.isHomeBase(model.getBoard().getPlayer1()) ||
-                            square.isHomeBase(model.getBoard().getPlayer2()))) {
-                        button.setText("");
-                        if ((row + col) % 2 == 0) {
-                            button.setBackground(null);
-                            // Create composite icon with grass background and home base
-                            Image grassImg = scaledGrassImage.getImage();
-                            Image homeBaseImg = square.isHomeBase(model.getBoard().getPlayer1()) ?
-                                    scaledHomeBaseP1.getImage() :
-                                    scaledHomeBaseP2.getImage();
-                            BufferedImage combined = new BufferedImage(
-                                    grassImg.getWidth(null),
-                                    grassImg.getHeight(null),
-                                    BufferedImage.TYPE_INT_ARGB
-                            );
-                            Graphics g = combined.getGraphics();
-                            g.drawImage(grassImg, 0, 0, null);
-                            g.drawImage(homeBaseImg, 0, 0, null);
-                            g.dispose();
-                            button.setIcon(new ImageIcon(combined));
-                        } else {
-                            button.setBackground(null);
-                            // Create composite icon with dirt background and home base
-                            Image dirtImg = scaledDirtImage.getImage();
-                            Image homeBaseImg = square.isHomeBase(model.getBoard().getPlayer1()) ?
-                                    scaledHomeBaseP1.getImage() :
-                                    scaledHomeBaseP2.getImage();
-                            BufferedImage combined = new BufferedImage(
-                                    dirtImg.getWidth(null),
-                                    dirtImg.getHeight(null),
-                                    BufferedImage.TYPE_INT_ARGB
-                            );
-                            Graphics g = combined.getGraphics();
-                            g.drawImage(dirtImg, 0, 0, null);
-                            g.drawImage(homeBaseImg, 0, 0, null);
-                            g.dispose();
-                            button.setIcon(new ImageIcon(combined));
-                        }
-                    } else {
-                        button.setText("");
-                        if ((row + col) % 2 == 0) {
-                            button.setBackground(null);
-                            button.setIcon(scaledGrassImage);
-                        } else {
-                            button.setBackground(null);
-                            button.setIcon(scaledDirtImage);
-                        }
-                    }
-                }
+                boardView.setTile(row, col, getTile(model, row, col));
             }
         }
-        repaint();
+    }
+
+    /**
+     * Updates the squares touched by a move: its origin and its destination, where
+     * any capture also happens. Cheaper than updateBoard after a single move.
+     *
+     * @param model  The current GameModel representing the state of the game.
+     * @param result The accepted move.
+     */
+    public void updateSquares(GameModel model, MoveResult result) {
+        updateTurnLabel(model);
+        if (!sprites.hasCellSize()) {
+            return;
+        }
+        boardView.setTile(result.getFromRow(), result.getFromCol(), getTile(model, result.getFromRow(), result.getFromCol()));
+        boardView.setTile(result.getToRow(), result.getToCol(), getTile(model, result.getToRow(), result.getToCol()));
+    }
+
+    /**
+     * Shows whose turn it is.
+     *
+     * @param model The current GameModel representing the state of the game.
+     */
+    private void updateTurnLabel(GameModel model) {
+        // Update turn label with player name
+        boolean isP1Turn = model.isPlayerOneTurn();
+        turnLabel.setText((isP1Turn ? player1Name : player2Name) + "'s Turn");
+        // Set color based on whose turn it is
+        turnLabel.setForeground(isP1Turn ? new Color(147, 80, 108) : new Color(157, 127, 166)); // #93506c for P1, #9d7fa6 for P2
+    }
+
+    /**
+     * Gets the image of one square: the terrain tile with the piece, trap or home base
+     * drawn over it. Combined images come from the sprite cache, so the same square
+     * state always gives the same icon instance.
+     *
+     * @param model The current GameModel representing the state of the game.
+     * @param row   The row of the square.
+     * @param col   The column of the square.
+     * @return The scaled tile.
+     */
+    private ImageIcon getTile(GameModel model, int row, int col) {
+        //set checkerboard pattern
+        ImageIcon ground = (row + col) % 2 == 0 ? scaledGrassImage : scaledDirtImage;
+        Square square = model.getBoard().getSquare(row, col);
+        if (square == null) {
+            return ground;
+        }
+        Piece piece = square.getPiece();
+        ImageIcon pieceIcon = piece != null ? getIconForPiece(piece.getName(), piece.getPlayer().getId()) : null;
+
+        //even if rat is on water, lake bg is still image
+        Terrain terrain = square.getTerrain();
+        if (terrain != null && terrain.isLake()) {
+            ImageIcon lakeIcon = getLakeTile(row, col);
+            return lakeIcon != null && pieceIcon != null ? sprites.composite(lakeIcon, pieceIcon) : lakeIcon;
+        }
+        if (pieceIcon != null) {
+            return sprites.composite(ground, pieceIcon);
+        }
+        if (piece == null && terrain != null && terrain.isTrap()) {
+            ImageIcon trapIcon = getTrapIcon(row, col);
+            return trapIcon != null ? sprites.composite(ground, sprites.get(trapIcon)) : ground;
+        }
+        if (piece == null && square.isHomeBase(model.getBoard().getPlayer1())) {
+            return sprites.composite(ground, scaledHomeBaseP1);
+        }
+        if (piece == null && square.isHomeBase(model.getBoard().getPlayer2())) {
+            return sprites.composite(ground, scaledHomeBaseP2);
+        }
+        return ground;
+    }
+
+    /**
+     * Gets the scaled lake tile for a lake square.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @return The tile, or null if the square has no lake tile.
+     */
+    private ImageIcon getLakeTile(int row, int col) {
+        if (row == 1 && col == 3) return scaledLake13;
+        else if (row == 1 && col == 4) return scaledLake14;
+        else if (row == 1 && col == 5) return scaledLake15;
+        else if (row == 2 && col == 3) return scaledLake23;
+        else if (row == 2 && col == 4) return scaledLake24;
+        else if (row == 2 && col == 5) return scaledLake25;
+        else if (row == 4 && col == 3) return scaledLake43;
+        else if (row == 4 && col == 4) return scaledLake44;
+        else if (row == 4 && col == 5) return scaledLake45;
+        else if (row == 5 && col == 3) return scaledLake53;
+        else if (row == 5 && col == 4) return scaledLake54;
+        else if (row == 5 && col == 5) return scaledLake55;
+        return null;
+    }
+
+    /**
+     * Gets the unscaled trap icon for a trap square.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @return The icon, or null if the square has no trap icon.
+     */
+    private ImageIcon getTrapIcon(int row, int col) {
+        // Determine which trap icon to use based on position
+        if (row == 2 && col == 0) return trapIconP120;
+        else if (row == 3 && col == 1) return trapIconP131;
+        else if (row == 4 && col == 0) return trapIconP140;
+        else if (row == 2 && col == 8) return trapIconP228;
+        else if (row == 3 && col == 7) return trapIconP237;
+        else if (row == 4 && col == 8) return trapIconP248;
+        return null;
     }
 
     /**
@@ -746,31 +540,13 @@ public class GameView extends JFrame {
      * @param col The column of the selected piece.
      */
     public void highlightSelectedPiece(int row, int col) {
-        // Reset previous selection
-        if (selectedButton != null) {
-            int prevRow = -1, prevCol = -1;
-            // Find the previous button's position
-            for (int i = 0; i < 7; i++) {
-                for (int j = 0; j < 9; j++) {
-                    if (boardButtons[i][j] == selectedButton) {
-                        prevRow = i;
-                        prevCol = j;
-                        break;
-                    }
-                }
-                if (prevRow != -1) break;
-            }
-            selectedButton.setBorder(null);
-            selectedButton.setBackground((prevRow + prevCol) % 2 == 0 ? WARM_WHITE : LIGHT_PINK);
-        }
-
-        // Highlight new selection
-        selectedButton = boardButtons[row][col];
         Square square = controller.getModel().getBoard().getSquare(row, col);
         if (square != null && square.getPiece() != null) {
-            // Create a line border with the appropriate color based on the player
+            // Outline the square with the appropriate color based on the player
             Color strokeColor = square.getPiece().getPlayer().getId() == 1 ? PLAYER1_STROKE : PLAYER2_STROKE;
-            selectedButton.setBorder(BorderFactory.createLineBorder(strokeColor, 3));
+            boardView.setSelection(row, col, strokeColor);
+        } else {
+            boardView.clearSelection();
         }
     }
 
@@ -778,23 +554,62 @@ public class GameView extends JFrame {
      * Clears the current selection from the board.
      */
     public void clearSelection() {
-        if (selectedButton != null) {
-            int row = -1, col = -1;
-            // Find the button's position
-            for (int i = 0; i < 7; i++) {
-                for (int j = 0; j < 9; j++) {
-                    if (boardButtons[i][j] == selectedButton) {
-                        row = i;
-                        col = j;
-                        break;
-                    }
-                }
-                if (row != -1) break;
+        boardView.clearSelection();
+    }
+
+    /**
+     * Shows the end of the game, displaying the winner and offering game options.
+     * The popup is delayed so that the piece reaching the home base is shown first.
+     *
+     * @param winner The name of the winning player.
+     */
+    public void showGameOver(String winner) {
+        Timer timer = new Timer(200, e -> {
+            // Create styled message label
+            JLabel messageLabel = new JLabel("<html><div style='text-align: center;'>" + winner + " wins the game!</div></html>");
+            messageLabel.setFont(FontRegistry.getPixelFont(16f));
+            messageLabel.setForeground(new Color(106, 41, 66));  // Dark pink
+
+            // Show winner message with styled label
+            JOptionPane.showMessageDialog(this,
+                messageLabel,
+                "Game Over",
+                JOptionPane.INFORMATION_MESSAGE);
+
+            // Create styled options label
+            JLabel optionsLabel = new JLabel("<html><div style='text-align: center;'>What would you like to do?</div></html>");
+            optionsLabel.setFont(FontRegistry.getPixelFont(16f));
+            optionsLabel.setForeground(new Color(106, 41, 66));
+
+            // Create options for the user
+            Object[] options = {"New Game", "Title Screen", "Exit"};
+            int choice = JOptionPane.showOptionDialog(this,
+                optionsLabel,
+                "Game Over",
+                JOptionPane.YES_NO_CANCEL_OPTION,
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                options,
+                options[0]);
+
+            switch (choice) {
+                case 0: // New Game
+                    dispose();
+                    SwingUtilities.invokeLater(() -> new PreGame().setVisible(true));
+                    break;
+
+                case 1: // Title Screen
+                    dispose();
+                    SwingUtilities.invokeLater(() -> new TitleScreen().setVisible(true));
+                    break;
+
+                default: // Exit or window closed
+                    System.exit(0);
+                    break;
             }
-            selectedButton.setBorder(null);
-            selectedButton.setBackground((row + col) % 2 == 0 ? WARM_WHITE : LIGHT_PINK);
-            selectedButton = null;
-        }
+        });
+        timer.setRepeats(false);
+        timer.start();
     }
 
     /**
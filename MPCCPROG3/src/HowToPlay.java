@@ -1,7 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.ComponentAdapter;
@@ -15,75 +14,21 @@ import java.awt.event.ComponentEvent;
 public class HowToPlay extends JFrame {
     private BufferedImage backgroundBuffered;
     private ImageIcon[] helpImages;
-    private Font pixelFont;
     private int currentPanel = 0;
     private static final int TOTAL_PANELS = 7;
     private boolean isFromMenu;
 
-    /**
-     * Converts an Image to a BufferedImage.
-     *
-     * @param img The Image to be converted.
-     * @return The corresponding BufferedImage.
-     */
-    private BufferedImage toBufferedImage(Image img) {
-        if (img instanceof BufferedImage) {
-            return (BufferedImage) img;
-        }
-        BufferedImage bimage = new BufferedImage(
-            img.getWidth(null), 
-            img.getHeight(null), 
-            BufferedImage.TYPE_INT_ARGB
-        );
-        Graphics2D bGr = bimage.createGraphics();
-        bGr.drawImage(img, 0, 0, null);
-        bGr.dispose();
-        return bimage;
-    }
-
     /**
      * Constructs the HowToPlay window and initializes the resources (images and fonts).
      * @param isFromMenu Whether the HowToPlay window was opened from the menu screen
      */
     public HowToPlay(boolean isFromMenu) {
         this.isFromMenu = isFromMenu;
-        // Load custom font
-        try {
-            pixelFont = Font.createFont(Font.TRUETYPE_FONT, new File("assets/fonts/Pokemon Classic.ttf"));
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(pixelFont);
-        } catch (Exception e) {
-            e.printStackTrace();
-            pixelFont = new Font("Arial", Font.PLAIN, 12);
-        }
-
-        // Load and prepare background image
-        try {
-            ImageIcon backgroundImage = new ImageIcon("assets/menubackground.png");
-            Image img = backgroundImage.getImage();
-            MediaTracker tracker = new MediaTracker(this);
-            tracker.addImage(img, 0);
-            tracker.waitForAll();
-            backgroundBuffered = toBufferedImage(img);
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error loading background image");
-        }
-
-        // Load all help menu images
+        // Background and help menu images, already decoded by the asset registry
+        backgroundBuffered = AssetRegistry.getImage("assets/menubackground.png");
         helpImages = new ImageIcon[TOTAL_PANELS];
-        try {
-            for (int i = 0; i < TOTAL_PANELS; i++) {
-                String imagePath = String.format("assets/helpmenu/htp%d.png", i + 1);
-                helpImages[i] = new ImageIcon(imagePath);
-                Image img = helpImages[i].getImage();
-                MediaTracker tracker = new MediaTracker(this);
-                tracker.addImage(img, i);
-                tracker.waitForAll();
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error loading help menu images");
+        for (int i = 0; i < TOTAL_PANELS; i++) {
+            helpImages[i] = AssetRegistry.getIcon(String.format("assets/helpmenu/htp%d.png", i + 1));
         }
 
         setupWindow();
@@ -153,12 +98,12 @@ public class HowToPlay extends JFrame {
         ImageIcon hoverBackIcon = null;
         try {
             // Load both normal and hover icons for next button
-            normalNextIcon = new ImageIcon("assets/nextbutton.png");
-            hoverNextIcon = new ImageIcon("assets/nextbuttonhover.png");
+            normalNextIcon = AssetRegistry.getIcon("assets/nextbutton.png");
+            hoverNextIcon = AssetRegistry.getIcon("assets/nextbuttonhover.png");
             
             // Load both normal and hover icons for back button
-            normalBackIcon = new ImageIcon("assets/backbutton.png");
-            hoverBackIcon = new ImageIcon("assets/backbuttonhover.png");
+            normalBackIcon = AssetRegistry.getIcon("assets/backbutton.png");
+            hoverBackIcon = AssetRegistry.getIcon("assets/backbuttonhover.png");
             
             // Scale all images
             Image normalNextImg = normalNextIcon.getImage().getScaledInstance(50, 50, Image.SCALE_SMOOTH);
@@ -271,8 +216,8 @@ public class HowToPlay extends JFrame {
             JButton menuButton = new JButton();
             int buttonWidth = 150;  // Default width if image loading fails
             try {
-                final ImageIcon normalMenuIcon = new ImageIcon("assets/backtomenu.png");
-                final ImageIcon hoverMenuIcon = new ImageIcon("assets/backtomenuhover.png");
+                final ImageIcon normalMenuIcon = AssetRegistry.getIcon("assets/backtomenu.png");
+                final ImageIcon hoverMenuIcon = AssetRegistry.getIcon("assets/backtomenuhover.png");
                 
                 // Get original dimensions to maintain aspect ratio
                 int originalWidth = normalMenuIcon.getIconWidth();
@@ -363,7 +308,7 @@ public class HowToPlay extends JFrame {
     
     private JButton createStyledButton(String text) {
         JButton button = new JButton(text);
-        button.setFont(pixelFont.deriveFont(16f));
+        button.setFont(FontRegistry.getPixelFont(16f));
         button.setForeground(new Color(249, 244, 166)); // Pale yellow
         button.setBackground(new Color(106, 41, 66)); // Pink
         button.setFocusPainted(false);
@@ -42,15 +42,15 @@ public class Lake extends Terrain {
      * @return true if the piece can cross/land on the lake (Rat can land, Lion and Tiger can cross)
      */
     public boolean canCross(Piece piece) {
-        // Only Rat can land on lake tiles
-        if (piece instanceof Rat) {
-            return true;
+        // Only Rat can land on lake tiles; Lion and Tiger can cross but not land
+        switch (piece.getType()) {
+            case Rat:
+            case Lion:
+            case Tiger:
+                return true;
+            default:
+                // All other pieces cannot cross or land
+                return false;
         }
-        // Lion and Tiger can cross but not land
-        if (piece instanceof Lion || piece instanceof Tiger) {
-            return true;
-        }
-        // All other pieces cannot cross or land
-        return false;
     }
 }
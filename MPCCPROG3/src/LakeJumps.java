@@ -0,0 +1,72 @@
+/**
+ * Precomputed Lion and Tiger lake jumps. For every square and direction whose
+ * first step enters a lake, the table holds the landing square on the far bank
+ * and the mask of lake squares crossed on the way. A jump is then legal when the
+ * landing square exists and no Rat of either side stands on the crossed squares.
+ */
+public final class LakeJumps {
+    /** Landing square per (square * 4 + direction), or -1 when the move is not a jump. */
+    private static final int[] DESTINATION = new int[Position.SQUARES * 4];
+
+    /** Lake squares crossed per (square * 4 + direction), or 0 when the move is not a jump. */
+    private static final long[] PATH = new long[Position.SQUARES * 4];
+
+    static {
+        for (int square = 0; square < Position.SQUARES; square++) {
+            for (int dir = 0; dir < 4; dir++) {
+                int index = square * 4 + dir;
+                DESTINATION[index] = -1;
+                int row = Position.row(square) + Move.DIR_ROW[dir];
+                int col = Position.col(square) + Move.DIR_COL[dir];
+                long path = 0;
+                while (Position.onBoard(row, col) && Position.isLake(Position.square(row, col))) {
+                    path |= 1L << Position.square(row, col);
+                    row += Move.DIR_ROW[dir];
+                    col += Move.DIR_COL[dir];
+                }
+                if (path != 0 && Position.onBoard(row, col)) {
+                    DESTINATION[index] = Position.square(row, col);
+                    PATH[index] = path;
+                }
+            }
+        }
+    }
+
+    private LakeJumps() {
+    }
+
+    /**
+     * Gets where a jump lands, ignoring Rats in the way.
+     *
+     * @param from      The square of the jumping piece.
+     * @param direction The direction of the jump.
+     * @return The landing square, or -1 if the move does not cross a lake to land.
+     */
+    public static int destination(int from, int direction) {
+        return DESTINATION[from * 4 + direction];
+    }
+
+    /**
+     * Gets the lake squares a jump crosses.
+     *
+     * @param from      The square of the jumping piece.
+     * @param direction The direction of the jump.
+     * @return The bitboard of crossed lake squares, or 0 if the move is not a jump.
+     */
+    public static long path(int from, int direction) {
+        return PATH[from * 4 + direction];
+    }
+
+    /**
+     * Gets where a jump lands if no Rat blocks it.
+     *
+     * @param from      The square of the jumping piece.
+     * @param direction The direction of the jump.
+     * @param rats      The bitboard of all Rats on the board.
+     * @return The landing square, or -1 if the jump is blocked or not a jump.
+     */
+    public static int destination(int from, int direction, long rats) {
+        int index = from * 4 + direction;
+        return (PATH[index] & rats) == 0 ? DESTINATION[index] : -1;
+    }
+}
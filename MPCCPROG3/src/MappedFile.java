@@ -0,0 +1,195 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A file accessed through memory mappings of fixed power-of-two segments, so that
+ * files larger than one ByteBuffer can be read and written in place. Segments are
+ * mapped on first use, and the last one grows by doubling as data is written further
+ * into it; mapping extends the file to cover the mapped range.
+ *
+ * Values are addressed by long offsets and must not cross a segment boundary,
+ * which callers ensure by aligning records to the segment size.
+ */
+final class MappedFile implements Closeable {
+    private static final int MIN_MAPPING = 1 << 16;
+
+    private final FileChannel channel;
+    private final int segmentShift;
+    private final long segmentMask;
+    private MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+    /**
+     * Opens or creates a file for mapped access.
+     *
+     * @param file         The file.
+     * @param segmentShift The base-2 logarithm of the segment size, at most 30.
+     * @throws IOException If the file cannot be opened.
+     */
+    MappedFile(Path file, int segmentShift) throws IOException {
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Gets the segment size.
+     *
+     * @return The number of bytes in a segment.
+     */
+    long segmentSize() {
+        return 1L << segmentShift;
+    }
+
+    /**
+     * Gets the segment holding a range of bytes, mapping it or growing its mapping if needed.
+     *
+     * @param offset The file offset of the first byte.
+     * @param length The number of bytes, which must not reach past the end of the segment.
+     * @return The mapped segment.
+     */
+    ByteBuffer segment(long offset, int length) {
+        int index = (int) (offset >>> segmentShift);
+        int end = indexInSegment(offset) + length;
+        if (index >= segments.length || segments[index] == null || segments[index].capacity() < end) {
+            map(index, end);
+        }
+        return segments[index];
+    }
+
+    /**
+     * Gets the position of an offset within its segment.
+     *
+     * @param offset The file offset.
+     * @return The index in the segment.
+     */
+    int indexInSegment(long offset) {
+        return (int) (offset & segmentMask);
+    }
+
+    /**
+     * Maps one segment, at least up to a given size. The mapping size is a power of two,
+     * so a segment is remapped only a few times as it fills up.
+     *
+     * @param index The segment number.
+     * @param end   The number of bytes of the segment that must be mapped.
+     */
+    private void map(int index, int end) {
+        if (index >= segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(index + 1, segments.length * 2));
+        }
+        long size = Math.min(1L << segmentShift, Math.max(MIN_MAPPING, Long.highestOneBit(end - 1L) << 1));
+        try {
+            segments[index] = channel.map(FileChannel.MapMode.READ_WRITE, (long) index << segmentShift, size);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot map segment " + index, e);
+        }
+    }
+
+    /**
+     * Reads a long.
+     *
+     * @param offset The file offset.
+     * @return The value.
+     */
+    long getLong(long offset) {
+        return segment(offset, 8).getLong(indexInSegment(offset));
+    }
+
+    /**
+     * Writes a long.
+     *
+     * @param offset The file offset.
+     * @param value  The value.
+     */
+    void putLong(long offset, long value) {
+        segment(offset, 8).putLong(indexInSegment(offset), value);
+    }
+
+    /**
+     * Reads an int.
+     *
+     * @param offset The file offset.
+     * @return The value.
+     */
+    int getInt(long offset) {
+        return segment(offset, 4).getInt(indexInSegment(offset));
+    }
+
+    /**
+     * Writes an int.
+     *
+     * @param offset The file offset.
+     * @param value  The value.
+     */
+    void putInt(long offset, int value) {
+        segment(offset, 4).putInt(indexInSegment(offset), value);
+    }
+
+    /**
+     * Reads an unsigned 16-bit value.
+     *
+     * @param offset The file offset.
+     * @return The value, from 0 to 65535.
+     */
+    int getShort(long offset) {
+        return segment(offset, 2).getShort(indexInSegment(offset)) & 0xFFFF;
+    }
+
+    /**
+     * Writes a 16-bit value.
+     *
+     * @param offset The file offset.
+     * @param value  The value.
+     */
+    void putShort(long offset, int value) {
+        segment(offset, 2).putShort(indexInSegment(offset), (short) value);
+    }
+
+    /**
+     * Reads an unsigned byte.
+     *
+     * @param offset The file offset.
+     * @return The value, from 0 to 255.
+     */
+    int getByte(long offset) {
+        return segment(offset, 1).get(indexInSegment(offset)) & 0xFF;
+    }
+
+    /**
+     * Writes a byte.
+     *
+     * @param offset The file offset.
+     * @param value  The value.
+     */
+    void putByte(long offset, int value) {
+        segment(offset, 1).put(indexInSegment(offset), (byte) value);
+    }
+
+    /**
+     * Writes the mapped segments back to the file.
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            if (segment != null) {
+                segment.force();
+            }
+        }
+    }
+
+    /**
+     * Closes the file. The mappings are released once they are no longer referenced.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        segments = new MappedByteBuffer[0];
+        channel.close();
+    }
+}
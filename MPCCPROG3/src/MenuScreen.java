@@ -26,13 +26,13 @@ public class MenuScreen extends JFrame {
         setLocationRelativeTo(null);
         setMinimumSize(new Dimension(800, 600));
 
-        backgroundImage = new ImageIcon("assets/menubackground.png");
-        startButton = new ImageIcon("assets/start.png");
-        startButtonHover = new ImageIcon("assets/start_hover.png");
-        howToPlayButton = new ImageIcon("assets/howtoplay.png");
-        howToPlayButtonHover = new ImageIcon("assets/howtoplay_hover.png");
-        quitButton = new ImageIcon("assets/quit.png");
-        quitButtonHover = new ImageIcon("assets/quit_hover.png");
+        backgroundImage = AssetRegistry.getIcon("assets/menubackground.png");
+        startButton = AssetRegistry.getIcon("assets/start.png");
+        startButtonHover = AssetRegistry.getIcon("assets/start_hover.png");
+        howToPlayButton = AssetRegistry.getIcon("assets/howtoplay.png");
+        howToPlayButtonHover = AssetRegistry.getIcon("assets/howtoplay_hover.png");
+        quitButton = AssetRegistry.getIcon("assets/quit.png");
+        quitButtonHover = AssetRegistry.getIcon("assets/quit_hover.png");
 
         originalButtonSize = new Dimension(startButton.getIconWidth(), startButton.getIconHeight());
 
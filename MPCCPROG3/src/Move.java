@@ -0,0 +1,108 @@
+/**
+ * Packs a move into a single int so that move lists can live in primitive arrays.
+ * Bits 0-5 hold the origin square, bits 6-11 the destination square,
+ * bits 12-13 the direction and bit 14 marks a jump over a lake.
+ */
+public final class Move {
+    public static final int NONE = 0; // Origin and destination are never equal, so 0 is free
+
+    public static final int UP = 0;    // W
+    public static final int LEFT = 1;  // A
+    public static final int DOWN = 2;  // S
+    public static final int RIGHT = 3; // D
+
+    public static final int[] DIR_ROW = {-1, 0, 1, 0};
+    public static final int[] DIR_COL = {0, -1, 0, 1};
+
+    private static final int JUMP_FLAG = 1 << 14;
+    private static final String DIRECTION_KEYS = "WASD";
+
+    private Move() {
+    }
+
+    /**
+     * Encodes a move.
+     *
+     * @param from      The origin square index.
+     * @param to        The destination square index.
+     * @param direction The direction of travel (UP, LEFT, DOWN or RIGHT).
+     * @param jump      True if the move jumps over a lake.
+     * @return The packed move.
+     */
+    public static int encode(int from, int to, int direction, boolean jump) {
+        return from | (to << 6) | (direction << 12) | (jump ? JUMP_FLAG : 0);
+    }
+
+    /**
+     * Gets the origin square of a move.
+     *
+     * @param move The packed move.
+     * @return The origin square index.
+     */
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    /**
+     * Gets the destination square of a move.
+     *
+     * @param move The packed move.
+     * @return The destination square index.
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * Gets the direction of a move.
+     *
+     * @param move The packed move.
+     * @return The direction (UP, LEFT, DOWN or RIGHT).
+     */
+    public static int direction(int move) {
+        return (move >>> 12) & 3;
+    }
+
+    /**
+     * Checks if a move jumps over a lake.
+     *
+     * @param move The packed move.
+     * @return True for a Lion or Tiger lake jump.
+     */
+    public static boolean isJump(int move) {
+        return (move & JUMP_FLAG) != 0;
+    }
+
+    /**
+     * Converts a W, A, S or D key to a direction.
+     *
+     * @param key The direction key.
+     * @return The direction, or -1 if the key is not a direction.
+     */
+    public static int directionOf(char key) {
+        return DIRECTION_KEYS.indexOf(Character.toUpperCase(key));
+    }
+
+    /**
+     * Converts a direction to its W, A, S or D key.
+     *
+     * @param direction The direction.
+     * @return The direction key.
+     */
+    public static char keyOf(int direction) {
+        return DIRECTION_KEYS.charAt(direction);
+    }
+
+    /**
+     * Formats a move with the 1-based coordinates used in the move history.
+     *
+     * @param move The packed move.
+     * @return The move as text, for example "(7, 3)->(6, 3)".
+     */
+    public static String toString(int move) {
+        int from = from(move);
+        int to = to(move);
+        return "(" + (Position.row(from) + 1) + ", " + (Position.col(from) + 1) + ")->("
+                + (Position.row(to) + 1) + ", " + (Position.col(to) + 1) + ")";
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Generates every legal move for the side to move of a Position.
+ * Moves are written into a caller-supplied int[] buffer, so generation
+ * allocates nothing and never touches the Board object graph.
+ *
+ * The rules mirror the piece classes:
+ * - Every piece steps one square up, left, down or right and may not enter its own den
+ * - Only the Rat may enter a lake
+ * - The Lion and Tiger jump straight over a lake unless a Rat is in the way
+ * - Captures follow CaptureRules
+ * - A piece landing on an opponent's trap is weakened
+ */
+public final class MoveGenerator {
+    /** Upper bound on legal moves in any position: 8 pieces with 4 directions each. */
+    public static final int MAX_MOVES = 32;
+
+    /** Destination square per (square * 4 + direction), or -1 when off the board. */
+    private static final int[] NEIGHBOR = new int[Position.SQUARES * 4];
+
+    static {
+        for (int square = 0; square < Position.SQUARES; square++) {
+            int row = Position.row(square);
+            int col = Position.col(square);
+            for (int dir = 0; dir < 4; dir++) {
+                int newRow = row + Move.DIR_ROW[dir];
+                int newCol = col + Move.DIR_COL[dir];
+                NEIGHBOR[square * 4 + dir] = Position.onBoard(newRow, newCol)
+                        ? Position.square(newRow, newCol) : -1;
+            }
+        }
+    }
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Writes all legal moves of the side to move into the buffer.
+     *
+     * @param position The position.
+     * @param moves    The buffer, with room for MAX_MOVES entries after offset.
+     * @param offset   The index of the first free slot in the buffer.
+     * @return The number of moves written.
+     */
+    public static int generate(Position position, int[] moves, int offset) {
+        int count = offset;
+        long own = position.occupancy(position.sideToMove());
+        while (own != 0) {
+            int from = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            count = generateFrom(position, from, moves, count);
+        }
+        return count - offset;
+    }
+
+    /**
+     * Writes the legal moves of the piece on one square into the buffer.
+     *
+     * @param position The position.
+     * @param from     The square of the piece to move.
+     * @param moves    The buffer.
+     * @param count    The index of the first free slot in the buffer.
+     * @return The index after the last move written.
+     */
+    public static int generateFrom(Position position, int from, int[] moves, int count) {
+        int code = position.pieceAt(from);
+        if (code == Position.EMPTY) {
+            return count;
+        }
+        int side = Position.sideOf(code);
+        int type = Position.typeOf(code);
+        boolean attackerWeak = position.isWeakened(from);
+        boolean fromLake = Position.isLake(from);
+
+        for (int dir = 0; dir < 4; dir++) {
+            int to = NEIGHBOR[from * 4 + dir];
+            if (to < 0) {
+                continue;
+            }
+            boolean jump = false;
+            if (Position.isLake(to)) {
+                if (type == Position.LION || type == Position.TIGER) {
+                    to = LakeJumps.destination(from, dir, position.rats());
+                    if (to < 0) {
+                        continue;
+                    }
+                    jump = true;
+                } else if (type != Position.RAT) {
+                    continue;
+                }
+            }
+            if (to == Position.DEN_SQUARE[side]) {
+                continue; // Cannot enter own den
+            }
+
+            int target = position.pieceAt(to);
+            if (target != Position.EMPTY) {
+                if (Position.sideOf(target) == side) {
+                    continue;
+                }
+                if (!CaptureRules.canCapture(type, Position.typeOf(target), attackerWeak,
+                        position.isWeakened(to), fromLake, Position.isLake(to))) {
+                    continue;
+                }
+            }
+            moves[count++] = Move.encode(from, to, dir, jump);
+        }
+        return count;
+    }
+
+    /**
+     * Checks if a move is legal for the side to move.
+     *
+     * @param position The position.
+     * @param move     The packed move.
+     * @param scratch  A buffer with room for at least 4 moves.
+     * @return True if the move is legal.
+     */
+    public static boolean isLegal(Position position, int move, int[] scratch) {
+        int from = Move.from(move);
+        int code = position.pieceAt(from);
+        if (code == Position.EMPTY || Position.sideOf(code) != position.sideToMove()) {
+            return false;
+        }
+        int count = generateFrom(position, from, scratch, 0);
+        for (int i = 0; i < count; i++) {
+            if (scratch[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the legal move of the side to move between two squares.
+     *
+     * @param position The position.
+     * @param from     The origin square index.
+     * @param to       The destination square index.
+     * @param scratch  A buffer with room for at least 4 moves.
+     * @return The packed move, or Move.NONE if there is no such legal move.
+     */
+    public static int find(Position position, int from, int to, int[] scratch) {
+        int code = position.pieceAt(from);
+        if (code == Position.EMPTY || Position.sideOf(code) != position.sideToMove()) {
+            return Move.NONE;
+        }
+        int count = generateFrom(position, from, scratch, 0);
+        for (int i = 0; i < count; i++) {
+            if (Move.to(scratch[i]) == to) {
+                return scratch[i];
+            }
+        }
+        return Move.NONE;
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * Structured outcome of one move attempt: what moved where, what was captured,
+ * what happened on arrival, or why the move was rejected. The Board and pieces
+ * fill it in as they apply the rules, so no text has to be printed and parsed back.
+ *
+ * One instance is reused for every move of a game; the caller resets it before a move,
+ * and the values stay valid until the next reset.
+ */
+public class MoveResult {
+    /**
+     * Reasons for rejecting a move.
+     */
+    public enum Rejection {
+        NONE,              // The move was accepted
+        GAME_OVER,         // The game has already ended
+        OUT_OF_BOUNDS,     // The origin or destination is off the board
+        NO_PIECE,          // There is no piece on the origin square
+        NOT_YOUR_TURN,     // The piece belongs to the player who is not on turn
+        INVALID_DIRECTION, // The direction is not W, A, S or D
+        OWN_DEN,           // A piece may not enter its own home base
+        LAKE,              // The piece cannot enter a lake
+        BLOCKED_BY_RAT,    // A Rat in the lake blocks a Lion or Tiger jump
+        NO_LANDING,        // A jump has no land to arrive on
+        CANNOT_CAPTURE,    // The piece on the destination is too strong, or out of reach from a lake
+        ILLEGAL            // The move breaks a movement or capture rule (sessions report no finer reason)
+    }
+
+    private int fromRow, fromCol;
+    private int toRow, toCol;
+    private Piece.PieceType movedType;    // Type of the moving piece, or null if there is none
+    private int moverId;                  // ID of the moving piece's owner, or 0
+    private Piece.PieceType capturedType; // Type of the captured piece, or null
+    private int capturedOwnerId;          // ID of the captured piece's owner, or 0
+    private boolean weakened;             // Moving piece landed on an enemy trap
+    private boolean jumpedLake;           // Lion or Tiger jumped over a lake
+    private boolean denReached;           // Moving piece entered the enemy home base
+    private Rejection rejection = Rejection.NONE;
+
+    /**
+     * Clears the result before a new move attempt.
+     */
+    public void reset() {
+        fromRow = fromCol = toRow = toCol = -1;
+        movedType = null;
+        moverId = 0;
+        capturedType = null;
+        capturedOwnerId = 0;
+        weakened = false;
+        jumpedLake = false;
+        denReached = false;
+        rejection = Rejection.NONE;
+    }
+
+    /**
+     * Records the origin and destination of the move.
+     *
+     * @param fromRow The row of the origin.
+     * @param fromCol The column of the origin.
+     * @param toRow   The row of the destination.
+     * @param toCol   The column of the destination.
+     */
+    void setSquares(int fromRow, int fromCol, int toRow, int toCol) {
+        this.fromRow = fromRow;
+        this.fromCol = fromCol;
+        this.toRow = toRow;
+        this.toCol = toCol;
+    }
+
+    /**
+     * Records the piece that moves.
+     *
+     * @param piece The moving piece.
+     */
+    void setMover(Piece piece) {
+        movedType = piece.getType();
+        moverId = piece.getPlayer().getId();
+    }
+
+    /**
+     * Records the piece on the destination: the captured piece of an accepted move,
+     * or the piece that could not be captured for a CANNOT_CAPTURE rejection.
+     *
+     * @param piece The piece on the destination.
+     */
+    void setCaptured(Piece piece) {
+        capturedType = piece.getType();
+        capturedOwnerId = piece.getPlayer().getId();
+    }
+
+    /**
+     * Records whether the moving piece is weakened after the move.
+     *
+     * @param weakened True if it landed on an enemy trap.
+     */
+    void setWeakened(boolean weakened) {
+        this.weakened = weakened;
+    }
+
+    /**
+     * Records that the move jumped over a lake.
+     */
+    void setJumpedLake() {
+        jumpedLake = true;
+    }
+
+    /**
+     * Records that the move entered the enemy home base.
+     */
+    void setDenReached() {
+        denReached = true;
+    }
+
+    /**
+     * Rejects the move.
+     *
+     * @param reason The reason for the rejection.
+     * @return Always false, so that rule checks can return the call directly.
+     */
+    boolean reject(Rejection reason) {
+        rejection = reason;
+        return false;
+    }
+
+    /**
+     * Checks if the move was played.
+     *
+     * @return True if the move was accepted.
+     */
+    public boolean isAccepted() {
+        return rejection == Rejection.NONE;
+    }
+
+    /**
+     * Gets the reason the move was rejected.
+     *
+     * @return The rejection reason, or NONE if the move was accepted.
+     */
+    public Rejection getRejection() {
+        return rejection;
+    }
+
+    /**
+     * Gets the row of the origin square.
+     *
+     * @return The 0-based row.
+     */
+    public int getFromRow() {
+        return fromRow;
+    }
+
+    /**
+     * Gets the column of the origin square.
+     *
+     * @return The 0-based column.
+     */
+    public int getFromCol() {
+        return fromCol;
+    }
+
+    /**
+     * Gets the row of the destination square, which is the landing square of a jump.
+     *
+     * @return The 0-based row.
+     */
+    public int getToRow() {
+        return toRow;
+    }
+
+    /**
+     * Gets the column of the destination square, which is the landing square of a jump.
+     *
+     * @return The 0-based column.
+     */
+    public int getToCol() {
+        return toCol;
+    }
+
+    /**
+     * Gets the type of the moving piece.
+     *
+     * @return The piece type, or null if there was no piece to move.
+     */
+    public Piece.PieceType getMovedType() {
+        return movedType;
+    }
+
+    /**
+     * Gets the owner of the moving piece.
+     *
+     * @return The player ID (1 or 2), or 0 if there was no piece to move.
+     */
+    public int getMoverId() {
+        return moverId;
+    }
+
+    /**
+     * Gets the type of the captured piece, or of the piece that could not be
+     * captured when the move was rejected with CANNOT_CAPTURE.
+     *
+     * @return The piece type, or null if the destination was empty.
+     */
+    public Piece.PieceType getCapturedType() {
+        return capturedType;
+    }
+
+    /**
+     * Gets the owner of the piece returned by getCapturedType.
+     *
+     * @return The player ID (1 or 2), or 0 if the destination was empty.
+     */
+    public int getCapturedOwnerId() {
+        return capturedOwnerId;
+    }
+
+    /**
+     * Checks if the move captured a piece.
+     *
+     * @return True if an accepted move captured a piece.
+     */
+    public boolean isCapture() {
+        return capturedType != null && isAccepted();
+    }
+
+    /**
+     * Checks if the moving piece landed on an enemy trap.
+     *
+     * @return True if the piece is weakened after the move.
+     */
+    public boolean isWeakened() {
+        return weakened;
+    }
+
+    /**
+     * Checks if the move jumped over a lake.
+     *
+     * @return True for a Lion or Tiger lake jump.
+     */
+    public boolean hasJumpedLake() {
+        return jumpedLake;
+    }
+
+    /**
+     * Checks if the move entered the enemy home base.
+     *
+     * @return True if the move won the game.
+     */
+    public boolean hasReachedDen() {
+        return denReached;
+    }
+}
@@ -0,0 +1,297 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Move path enumeration ("perft"): counts the positions reachable in exactly
+ * N moves, so that rule changes and move generator optimizations can be checked
+ * against known counts and timed. A position where the game is over (a den was
+ * reached or the side to move has no pieces) has no moves.
+ *
+ * Usage: java Perft [depth] [divide] [parallel] [hash=MB] [p2] [pos=notation] [verify]
+ * <ul>
+ *     <li>divide: print the count below every root move</li>
+ *     <li>parallel: search the root moves on the fork/join common pool</li>
+ *     <li>hash=MB: cache subtree counts in a table of the given size</li>
+ *     <li>p2: let Player 2 move first</li>
+ *     <li>pos=notation: start from a PositionNotation position instead (quote it, it has spaces)</li>
+ *     <li>verify: compare every depth up to the given one with the reference counts</li>
+ * </ul>
+ */
+public class Perft {
+    /**
+     * Reference counts from the starting position of Board.initializePieces,
+     * indexed by depth, with Player 1 to move. By symmetry they also hold with
+     * Player 2 to move. Any rule change that alters them must update them.
+     */
+    static final long[] REFERENCE = {
+            1L,
+            24L,
+            576L,
+            12_240L,
+            260_100L,
+            5_111_725L,
+            100_459_989L,
+            1_908_483_421L,
+    };
+
+    private final int[][] moves;    // Move buffer per remaining depth
+    private final long[] cache;     // (key XOR count, count) pairs, or null
+    private final int cacheMask;    // Cache entry count minus one
+
+    /**
+     * Constructs a perft counter without a cache.
+     *
+     * @param maxDepth The deepest count it will be asked for.
+     */
+    public Perft(int maxDepth) {
+        this(maxDepth, null);
+    }
+
+    /**
+     * Constructs a perft counter that shares a subtree cache with other counters.
+     *
+     * @param maxDepth The deepest count it will be asked for.
+     * @param cache    A cache made by newCache, or null for none.
+     */
+    public Perft(int maxDepth, long[] cache) {
+        this.moves = new int[maxDepth + 1][MoveGenerator.MAX_MOVES];
+        this.cache = cache;
+        this.cacheMask = cache == null ? 0 : (cache.length >>> 1) - 1;
+    }
+
+    /**
+     * Allocates a subtree cache. Counters may share it between threads: like the
+     * transposition table, an entry torn by a concurrent write fails its key check.
+     *
+     * @param sizeMb The cache size in megabytes, at least 1.
+     * @return The cache.
+     */
+    public static long[] newCache(int sizeMb) {
+        long entries = Long.highestOneBit(Math.min(Math.max(1, sizeMb) * 1024L * 1024L / 16, 1L << 29));
+        return new long[(int) entries * 2];
+    }
+
+    /**
+     * Counts the positions reachable in exactly the given number of moves.
+     *
+     * @param position The position to count from; it is restored before returning.
+     * @param depth    The number of moves.
+     * @return The number of leaf positions.
+     */
+    public long count(Position position, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        int side = position.sideToMove();
+        if (position.hasReachedDen(side ^ 1) || !position.hasPiecesLeft(side)) {
+            return 0; // Game over
+        }
+        int[] list = moves[depth];
+        int count = MoveGenerator.generate(position, list, 0);
+        if (depth == 1) {
+            return count; // Bulk count the last ply
+        }
+
+        long key = 0;
+        if (cache != null) {
+            key = position.hash() ^ (depth * 0x9E3779B97F4A7C15L);
+            int index = ((int) key & cacheMask) << 1;
+            long nodes = cache[index + 1];
+            if (nodes != 0 && (cache[index] ^ nodes) == key) {
+                return nodes;
+            }
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            position.makeMove(list[i]);
+            nodes += count(position, depth - 1);
+            position.unmakeMove();
+        }
+
+        if (cache != null) {
+            int index = ((int) key & cacheMask) << 1;
+            cache[index] = key ^ nodes;
+            cache[index + 1] = nodes;
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the positions below every root move.
+     *
+     * @param position The position to count from; it is not modified.
+     * @param depth    The number of moves, at least 1.
+     * @param parallel True to count the root moves on the fork/join common pool.
+     * @param cache    A cache made by newCache, or null for none.
+     * @param rootMoves Receives the root moves, at least MoveGenerator.MAX_MOVES long.
+     * @param counts   Receives the count below each root move, as long as rootMoves.
+     * @return The number of root moves.
+     */
+    public static int divide(Position position, int depth, boolean parallel, long[] cache,
+                             int[] rootMoves, long[] counts) {
+        int side = position.sideToMove();
+        if (position.hasReachedDen(side ^ 1) || !position.hasPiecesLeft(side)) {
+            return 0;
+        }
+        int count = MoveGenerator.generate(position, rootMoves, 0);
+        if (parallel) {
+            RootTask[] tasks = new RootTask[count];
+            for (int i = 0; i < count; i++) {
+                tasks[i] = new RootTask(position, rootMoves[i], depth - 1, cache);
+            }
+            ForkJoinPool.commonPool().invoke(new RecursiveTask<Void>() {
+                @Override
+                protected Void compute() {
+                    invokeAll(tasks);
+                    return null;
+                }
+            });
+            for (int i = 0; i < count; i++) {
+                counts[i] = tasks[i].join();
+            }
+        } else {
+            Position copy = copyOf(position);
+            Perft perft = new Perft(depth, cache);
+            for (int i = 0; i < count; i++) {
+                copy.makeMove(rootMoves[i]);
+                counts[i] = perft.count(copy, depth - 1);
+                copy.unmakeMove();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copies a position into a new one with a fresh undo stack.
+     *
+     * @param position The position to copy.
+     * @return The copy.
+     */
+    private static Position copyOf(Position position) {
+        Position copy = new Position();
+        copy.copyFrom(position);
+        return copy;
+    }
+
+    /**
+     * Counts the subtree of one root move on its own copy of the position.
+     */
+    private static class RootTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Position position;
+        private final int move;
+        private final int depth;
+        private final long[] cache;
+
+        RootTask(Position root, int move, int depth, long[] cache) {
+            this.position = copyOf(root);
+            this.move = move;
+            this.depth = depth;
+            this.cache = cache;
+        }
+
+        @Override
+        protected Long compute() {
+            position.makeMove(move);
+            return new Perft(depth, cache).count(position, depth);
+        }
+    }
+
+    /**
+     * Runs perft from the starting position and prints the counts and speed.
+     *
+     * @param args The depth followed by the options described above.
+     */
+    public static void main(String[] args) {
+        int depth = 5;
+        boolean divide = false;
+        boolean parallel = false;
+        boolean verify = false;
+        boolean player2First = false;
+        int cacheMb = 0;
+        String notation = null;
+        for (String arg : args) {
+            if (arg.equals("divide")) {
+                divide = true;
+            } else if (arg.equals("parallel")) {
+                parallel = true;
+            } else if (arg.equals("verify")) {
+                verify = true;
+            } else if (arg.equals("p2")) {
+                player2First = true;
+            } else if (arg.startsWith("pos=")) {
+                notation = arg.substring(4);
+            } else if (arg.startsWith("hash=")) {
+                cacheMb = Integer.parseInt(arg.substring(5));
+            } else {
+                depth = Integer.parseInt(arg);
+            }
+        }
+
+        Position position = copyOf(new Board().getPosition());
+        position.setSideToMove(player2First ? Position.PLAYER2 : Position.PLAYER1);
+        if (notation != null) {
+            PositionNotation.parse(notation, position);
+        }
+
+        if (verify) {
+            boolean ok = true;
+            for (int d = 1; d <= depth; d++) {
+                long nodes = total(position, d, parallel, cacheMb);
+                boolean known = notation == null && d < REFERENCE.length;
+                boolean match = !known || nodes == REFERENCE[d];
+                ok &= match;
+                System.out.println("perft(" + d + ") = " + nodes
+                        + (known ? (match ? " ok" : " expected " + REFERENCE[d]) : " (no reference)"));
+            }
+            System.out.println(ok ? "All counts match" : "MISMATCH");
+            if (!ok) {
+                System.exit(1);
+            }
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+        long[] counts = new long[MoveGenerator.MAX_MOVES];
+        long[] cache = cacheMb > 0 ? newCache(cacheMb) : null;
+        long nodes;
+        if (depth == 0) {
+            nodes = 1;
+        } else {
+            int count = divide(position, depth, parallel, cache, rootMoves, counts);
+            nodes = 0;
+            for (int i = 0; i < count; i++) {
+                nodes += counts[i];
+                if (divide) {
+                    System.out.println(Move.toString(rootMoves[i]) + ": " + counts[i]);
+                }
+            }
+        }
+        long ms = Math.max(1, (System.nanoTime() - startTime) / 1_000_000L);
+        System.out.println("perft(" + depth + ") = " + nodes + " in " + ms + "ms ("
+                + nodes * 1000 / ms + " leaves/s)");
+    }
+
+    /**
+     * Counts the positions at one depth with fresh state.
+     *
+     * @param position The position to count from; it is not modified.
+     * @param depth    The number of moves.
+     * @param parallel True to count the root moves in parallel.
+     * @param cacheMb  The cache size in megabytes, or 0 for none.
+     * @return The number of leaf positions.
+     */
+    private static long total(Position position, int depth, boolean parallel, int cacheMb) {
+        int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+        long[] counts = new long[MoveGenerator.MAX_MOVES];
+        int count = divide(position, depth, parallel, cacheMb > 0 ? newCache(cacheMb) : null, rootMoves, counts);
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            nodes += counts[i];
+        }
+        return nodes;
+    }
+}
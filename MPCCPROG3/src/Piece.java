@@ -46,13 +46,133 @@ public abstract class Piece {
     }
 
     /**
-     * Moves the piece in the given direction on the board
+     * Moves the piece in the given direction on the board.
+     * Movement only depends on the piece type, so it is chosen with a switch
+     * on the type rather than overridden in every subclass.
+     * The outcome is recorded in the result, which the caller resets beforehand.
      *
      * @param direction The direction to move
      * @param board     The game board where the piece moves
+     * @param result    Receives the outcome of the move
      * @return True if the move was successful
      */
-    public abstract boolean move(char direction, Board board);
+    public final boolean move(char direction, Board board, MoveResult result) {
+        result.setMover(this);
+        int dir = Move.directionOf(direction);
+        if (dir < 0) {
+            return result.reject(MoveResult.Rejection.INVALID_DIRECTION);
+        }
+        int newX = x + Move.DIR_ROW[dir];
+        int newY = y + Move.DIR_COL[dir];
+        result.setSquares(x, y, newX, newY);
+
+        Square destinationSquare = board.getSquare(newX, newY);
+        if (destinationSquare == null) {
+            return result.reject(MoveResult.Rejection.OUT_OF_BOUNDS);
+        }
+
+        switch (type) {
+            case Rat:
+                return moveRat(destinationSquare, board, result);
+            case Lion:
+            case Tiger:
+                return moveJumping(dir, destinationSquare, board, result);
+            default:
+                return moveOnLand(destinationSquare, board, result);
+        }
+    }
+
+    /**
+     * Moves a piece that stays on land one square. It cannot go onto a lake,
+     * and captures the piece on the destination if it can.
+     *
+     * @param destinationSquare The square to move to
+     * @param board             The game board
+     * @param result            Receives the outcome of the move
+     * @return True if the move was successful
+     */
+    private boolean moveOnLand(Square destinationSquare, Board board, MoveResult result) {
+        //prevent piece on going on lake
+        if (destinationSquare.getTerrain() != null && destinationSquare.getTerrain().isLake()) {
+            return result.reject(MoveResult.Rejection.LAKE);
+        }
+
+        Piece destinationPiece = destinationSquare.getPiece();
+        if (destinationPiece != null && canCapture(destinationPiece)) {
+            result.setCaptured(destinationPiece);
+            destinationPiece.capture(board); // Capture the opponent's piece
+        }
+
+        return board.movePiece(this, destinationSquare.getX(), destinationSquare.getY(), result);
+    }
+
+    /**
+     * Moves the Rat one square. The Rat can enter lakes; from a lake it can
+     * only capture the other Rat, and on land it follows the normal capture rules.
+     *
+     * @param destinationSquare The square to move to
+     * @param board             The game board
+     * @param result            Receives the outcome of the move
+     * @return True if the move was successful
+     */
+    private boolean moveRat(Square destinationSquare, Board board, MoveResult result) {
+        Piece destinationPiece = destinationSquare.getPiece();
+
+        // Only proceed if there's a piece to potentially capture
+        if (destinationPiece != null && destinationPiece.getPlayer() != getPlayer()) {
+            result.setCaptured(destinationPiece);
+            if (canCapture(destinationPiece)) {
+                destinationPiece.capture(board);
+            } else {
+                return result.reject(MoveResult.Rejection.CANNOT_CAPTURE);
+            }
+        }
+
+        // Move the Rat to the new position
+        return board.movePiece(this, destinationSquare.getX(), destinationSquare.getY(), result);
+    }
+
+    /**
+     * Moves the Lion or Tiger one square, or straight over a lake to the far bank
+     * unless a Rat is in the way. It cannot land on a lake.
+     *
+     * @param dir        The direction to move (Move.UP, LEFT, DOWN or RIGHT)
+     * @param nextSquare The adjacent square in that direction
+     * @param board      The game board
+     * @param result     Receives the outcome of the move
+     * @return True if the move was successful
+     */
+    private boolean moveJumping(int dir, Square nextSquare, Board board, MoveResult result) {
+        int newX = nextSquare.getX();
+        int newY = nextSquare.getY();
+
+        // Check if the piece is entering a lake
+        if (nextSquare.getTerrain() != null && nextSquare.getTerrain().isLake()) {
+            // Look up the landing square and the lake squares crossed on the way
+            int from = Position.square(x, y);
+            if ((LakeJumps.path(from, dir) & board.getPosition().rats()) != 0) {
+                return result.reject(MoveResult.Rejection.BLOCKED_BY_RAT);
+            }
+
+            // Ensure the piece lands on a valid tile
+            int landing = LakeJumps.destination(from, dir);
+            if (landing < 0) {
+                return result.reject(MoveResult.Rejection.NO_LANDING);
+            }
+            newX = Position.row(landing);
+            newY = Position.col(landing);
+            result.setJumpedLake();
+        }
+
+        // Handle normal move or jump move
+        Piece destinationPiece = board.getSquare(newX, newY).getPiece();
+        if (canCapture(destinationPiece)) {
+            result.setCaptured(destinationPiece);
+            destinationPiece.capture(board);
+        }
+
+        return board.movePiece(this, newX, newY, result);
+    }
 
     /**
      * Captures piece, remove from the game
@@ -61,10 +181,12 @@ public abstract class Piece {
      */
     public void capture(Board board) {
         isCaptured = true;
-        System.out.println(name + " of Player " + player.getId() + " has been captured.");
 
         // Remove the piece from the board
         Square currentSquare = getCurrentSquare(board);
+        if (currentSquare != null && currentSquare.getPiece() == this) {
+            board.removeCapturedPiece(this);
+        }
         if (currentSquare != null) {
             currentSquare.removePiece(this);
         }
@@ -149,17 +271,18 @@ public abstract class Piece {
             return false; // Cannot capture self pieces
         }
 
-        // If the target piece is weakened, any piece can capture it
-        if (other.isWeakened()) return true;
-
-        //Rat can capture Elephant
-        if (this instanceof Rat && other.getType() == PieceType.Elephant) return true;
-
-        // Weakened pieces cannot capture
-        if (this.isWeakened) return false;
+        // One lookup covers type, strength, trap and lake rules
+        return CaptureRules.canCapture(type.ordinal(), other.type.ordinal(), isWeakened, other.isWeakened,
+                isOnLake(), other.isOnLake());
+    }
 
-        // Strength rule: Attacker must be stronger
-        return this.getType().getStrength() >= other.getType().getStrength();
+    /**
+     * Checks if the piece stands in a lake
+     *
+     * @return True if the piece's square is a lake square
+     */
+    private boolean isOnLake() {
+        return Position.onBoard(x, y) && Position.isLake(Position.square(x, y));
     }
 
     /**
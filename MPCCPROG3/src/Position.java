@@ -0,0 +1,663 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Compact bitboard representation of a game position.
+ * Every one of the 63 squares maps to one bit of a long (index = row * 9 + col),
+ * so the pieces of each type and side, the weakened pieces and the terrain
+ * are all stored as masks instead of as an object grid.
+ */
+public class Position {
+    public static final int ROWS = 7;
+    public static final int COLS = 9;
+    public static final int SQUARES = ROWS * COLS;
+    public static final long ALL_SQUARES = (1L << SQUARES) - 1;
+
+    public static final int PLAYER1 = 0;     // Side index of Player 1
+    public static final int PLAYER2 = 1;     // Side index of Player 2
+    public static final int PIECE_TYPES = 8; // Elephant .. Rat, in PieceType order
+    public static final int EMPTY = -1;      // Mailbox value of an empty square
+    public static final int DEFAULT_MAX_PLY = 1024; // Default depth of the undo stack
+    public static final int SNAPSHOT_LONGS = 2 * PIECE_TYPES + 3; // Size of writeSnapshot's output
+
+    public static final int ELEPHANT = Piece.PieceType.Elephant.ordinal();
+    public static final int LION = Piece.PieceType.Lion.ordinal();
+    public static final int TIGER = Piece.PieceType.Tiger.ordinal();
+    public static final int RAT = Piece.PieceType.Rat.ordinal();
+
+    /** Squares covered by the two lakes. */
+    public static final long LAKE_MASK = mask(
+            1, 3, 1, 4, 1, 5,
+            2, 3, 2, 4, 2, 5,
+            4, 3, 4, 4, 4, 5,
+            5, 3, 5, 4, 5, 5);
+
+    /** Traps owned by each side; a piece is weakened on the opponent's traps. */
+    public static final long[] TRAP_MASK = {
+            mask(2, 0, 4, 0, 3, 1),
+            mask(2, 8, 4, 8, 3, 7)
+    };
+
+    /** Home base (den) square of each side. */
+    public static final int[] DEN_SQUARE = {square(3, 0), square(3, 8)};
+
+    /** Home base (den) of each side as a mask. */
+    public static final long[] DEN_MASK = {1L << DEN_SQUARE[0], 1L << DEN_SQUARE[1]};
+
+    // Zobrist keys, generated from a fixed seed so that hashes are stable between runs
+    private static final long[] PIECE_KEYS = new long[2 * PIECE_TYPES * SQUARES]; // Per piece code and square
+    private static final long[] WEAKENED_KEYS = new long[SQUARES];                // Per weakened square
+    private static final long[] DEN_KEYS = new long[2];                           // Per den held by the enemy
+    private static final long SIDE_KEY;                                           // Player 2 to move
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x4A554E474C45L);
+        for (int i = 0; i < PIECE_KEYS.length; i++) {
+            PIECE_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < SQUARES; i++) {
+            WEAKENED_KEYS[i] = random.nextLong();
+        }
+        DEN_KEYS[PLAYER1] = random.nextLong();
+        DEN_KEYS[PLAYER2] = random.nextLong();
+        SIDE_KEY = random.nextLong();
+    }
+
+    private final long[] pieces = new long[2 * PIECE_TYPES]; // Indexed by piece code
+    private final long[] occupied = new long[2];              // All pieces of each side
+    private final byte[] mailbox = new byte[SQUARES];         // Piece code per square
+    private final int[] denOwner = new int[2];                // Side currently holding each den
+    private long weakened;                                    // Pieces weakened by a trap
+    private int sideToMove;
+    private long hash;                                        // Zobrist key, updated incrementally
+
+    // Undo stack: one entry per move made, restored in O(1) by unmakeMove
+    private final int[] undoState;     // Move, captured piece, den owners and side to move
+    private final long[] undoWeakened; // Weakened mask before the move
+    private final long[] undoHash;     // Zobrist key before the move
+    private int ply;                   // Number of entries on the undo stack
+
+    /**
+     * Constructs an empty position with Player 1 to move.
+     */
+    public Position() {
+        this(DEFAULT_MAX_PLY);
+    }
+
+    /**
+     * Constructs an empty position with Player 1 to move and an undo stack of the given depth.
+     *
+     * @param maxPly The maximum number of moves that can be made before they are undone.
+     */
+    public Position(int maxPly) {
+        undoState = new int[maxPly];
+        undoWeakened = new long[maxPly];
+        undoHash = new long[maxPly];
+        clear();
+    }
+
+    /**
+     * Converts board coordinates to a square index.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return The square index, row * 9 + col.
+     */
+    public static int square(int row, int col) {
+        return row * COLS + col;
+    }
+
+    /**
+     * Gets the row of a square index.
+     *
+     * @param square The square index.
+     * @return The row index.
+     */
+    public static int row(int square) {
+        return square / COLS;
+    }
+
+    /**
+     * Gets the column of a square index.
+     *
+     * @param square The square index.
+     * @return The column index.
+     */
+    public static int col(int square) {
+        return square % COLS;
+    }
+
+    /**
+     * Checks if the coordinates are on the board.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return True if the coordinates are inside the 7x9 grid.
+     */
+    public static boolean onBoard(int row, int col) {
+        return row >= 0 && row < ROWS && col >= 0 && col < COLS;
+    }
+
+    /**
+     * Combines a piece type index and a side into a piece code.
+     *
+     * @param side The side index.
+     * @param type The piece type index.
+     * @return The piece code, side * 8 + type.
+     */
+    public static int code(int side, int type) {
+        return side * PIECE_TYPES + type;
+    }
+
+    /**
+     * Gets the side index encoded in a piece code.
+     *
+     * @param code The piece code.
+     * @return The side index.
+     */
+    public static int sideOf(int code) {
+        return code >> 3;
+    }
+
+    /**
+     * Gets the piece type index encoded in a piece code.
+     *
+     * @param code The piece code.
+     * @return The piece type index.
+     */
+    public static int typeOf(int code) {
+        return code & 7;
+    }
+
+    /**
+     * Checks if a square is a lake.
+     *
+     * @param square The square index.
+     * @return True if the square is a lake.
+     */
+    public static boolean isLake(int square) {
+        return (LAKE_MASK & (1L << square)) != 0;
+    }
+
+    /**
+     * Builds a mask from (row, col) pairs.
+     *
+     * @param coords Alternating row and column indices.
+     * @return The mask with one bit set per pair.
+     */
+    private static long mask(int... coords) {
+        long mask = 0;
+        for (int i = 0; i < coords.length; i += 2) {
+            mask |= 1L << square(coords[i], coords[i + 1]);
+        }
+        return mask;
+    }
+
+    /**
+     * Removes all pieces and resets the side to move and den ownership.
+     */
+    public void clear() {
+        Arrays.fill(pieces, 0L);
+        Arrays.fill(occupied, 0L);
+        Arrays.fill(mailbox, (byte) EMPTY);
+        denOwner[PLAYER1] = PLAYER1;
+        denOwner[PLAYER2] = PLAYER2;
+        weakened = 0;
+        sideToMove = PLAYER1;
+        hash = 0;
+        ply = 0;
+    }
+
+    /**
+     * Sets up the starting position, mirroring Board.initializePieces.
+     */
+    public void setStartPosition() {
+        clear();
+        put(square(0, 2), PLAYER1, ELEPHANT);
+        put(square(6, 0), PLAYER1, LION);
+        put(square(0, 0), PLAYER1, TIGER);
+        put(square(4, 2), PLAYER1, Piece.PieceType.Leopard.ordinal());
+        put(square(2, 2), PLAYER1, Piece.PieceType.Wolf.ordinal());
+        put(square(5, 1), PLAYER1, Piece.PieceType.Dog.ordinal());
+        put(square(1, 1), PLAYER1, Piece.PieceType.Cat.ordinal());
+        put(square(6, 2), PLAYER1, RAT);
+
+        put(square(6, 6), PLAYER2, ELEPHANT);
+        put(square(0, 8), PLAYER2, LION);
+        put(square(6, 8), PLAYER2, TIGER);
+        put(square(2, 6), PLAYER2, Piece.PieceType.Leopard.ordinal());
+        put(square(4, 6), PLAYER2, Piece.PieceType.Wolf.ordinal());
+        put(square(1, 7), PLAYER2, Piece.PieceType.Dog.ordinal());
+        put(square(5, 7), PLAYER2, Piece.PieceType.Cat.ordinal());
+        put(square(0, 6), PLAYER2, RAT);
+    }
+
+    /**
+     * Copies another position into this one.
+     *
+     * @param other The position to copy.
+     */
+    public void copyFrom(Position other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, pieces.length);
+        System.arraycopy(other.occupied, 0, occupied, 0, occupied.length);
+        System.arraycopy(other.mailbox, 0, mailbox, 0, mailbox.length);
+        denOwner[PLAYER1] = other.denOwner[PLAYER1];
+        denOwner[PLAYER2] = other.denOwner[PLAYER2];
+        weakened = other.weakened;
+        sideToMove = other.sideToMove;
+        hash = other.hash;
+        ply = 0;
+    }
+
+    /**
+     * Writes the state of the position (not its undo stack) as SNAPSHOT_LONGS longs:
+     * the bitboard of every piece code, the weakened mask, the side to move with the
+     * den holders, and the Zobrist key.
+     *
+     * @param target The array to write to.
+     * @param offset The index of the first long.
+     */
+    public void writeSnapshot(long[] target, int offset) {
+        System.arraycopy(pieces, 0, target, offset, pieces.length);
+        target[offset + pieces.length] = weakened;
+        target[offset + pieces.length + 1] = sideToMove | (denOwner[PLAYER1] << 1) | (denOwner[PLAYER2] << 2);
+        target[offset + pieces.length + 2] = hash;
+    }
+
+    /**
+     * Restores a state written by writeSnapshot. The undo stack is cleared.
+     *
+     * @param source The array to read from.
+     * @param offset The index of the first long.
+     */
+    public void readSnapshot(long[] source, int offset) {
+        Arrays.fill(mailbox, (byte) EMPTY);
+        occupied[PLAYER1] = 0;
+        occupied[PLAYER2] = 0;
+        for (int code = 0; code < pieces.length; code++) {
+            long bits = source[offset + code];
+            pieces[code] = bits;
+            occupied[sideOf(code)] |= bits;
+            while (bits != 0) {
+                mailbox[Long.numberOfTrailingZeros(bits)] = (byte) code;
+                bits &= bits - 1;
+            }
+        }
+        weakened = source[offset + pieces.length];
+        int state = (int) source[offset + pieces.length + 1];
+        sideToMove = state & 1;
+        denOwner[PLAYER1] = (state >>> 1) & 1;
+        denOwner[PLAYER2] = (state >>> 2) & 1;
+        hash = source[offset + pieces.length + 2];
+        ply = 0;
+    }
+
+    /**
+     * Places a piece on an empty square.
+     *
+     * @param square The square index.
+     * @param side   The side index of the owner.
+     * @param type   The piece type index.
+     */
+    public void put(int square, int side, int type) {
+        int code = code(side, type);
+        long bit = 1L << square;
+        pieces[code] |= bit;
+        occupied[side] |= bit;
+        mailbox[square] = (byte) code;
+        hash ^= PIECE_KEYS[code * SQUARES + square];
+    }
+
+    /**
+     * Removes the piece on a square, if any, together with its weakened flag.
+     *
+     * @param square The square index.
+     */
+    public void remove(int square) {
+        int code = mailbox[square];
+        if (code == EMPTY) {
+            return;
+        }
+        long bit = 1L << square;
+        pieces[code] &= ~bit;
+        occupied[sideOf(code)] &= ~bit;
+        if ((weakened & bit) != 0) {
+            weakened &= ~bit;
+            hash ^= WEAKENED_KEYS[square];
+        }
+        mailbox[square] = (byte) EMPTY;
+        hash ^= PIECE_KEYS[code * SQUARES + square];
+    }
+
+    /**
+     * Relocates the piece on one square to an empty square, keeping its weakened flag.
+     *
+     * @param from The square the piece is on.
+     * @param to   The empty destination square.
+     */
+    public void move(int from, int to) {
+        int code = mailbox[from];
+        if (code == EMPTY) {
+            return;
+        }
+        long change = (1L << from) | (1L << to);
+        pieces[code] ^= change;
+        occupied[sideOf(code)] ^= change;
+        if ((weakened & (1L << from)) != 0) {
+            weakened ^= change;
+            hash ^= WEAKENED_KEYS[from] ^ WEAKENED_KEYS[to];
+        }
+        mailbox[to] = (byte) code;
+        mailbox[from] = (byte) EMPTY;
+        hash ^= PIECE_KEYS[code * SQUARES + from] ^ PIECE_KEYS[code * SQUARES + to];
+    }
+
+    /**
+     * Gets the piece code on a square.
+     *
+     * @param square The square index.
+     * @return The piece code, or EMPTY.
+     */
+    public int pieceAt(int square) {
+        return mailbox[square];
+    }
+
+    /**
+     * Gets the mask of all pieces of one type and side.
+     *
+     * @param side The side index.
+     * @param type The piece type index.
+     * @return The mask of those pieces.
+     */
+    public long pieces(int side, int type) {
+        return pieces[code(side, type)];
+    }
+
+    /**
+     * Gets the mask of the Rats of both sides.
+     *
+     * @return The mask of all Rats.
+     */
+    public long rats() {
+        return pieces[code(PLAYER1, RAT)] | pieces[code(PLAYER2, RAT)];
+    }
+
+    /**
+     * Gets the mask of all pieces of one side.
+     *
+     * @param side The side index.
+     * @return The mask of that side's pieces.
+     */
+    public long occupancy(int side) {
+        return occupied[side];
+    }
+
+    /**
+     * Gets the mask of all pieces on the board.
+     *
+     * @return The mask of every occupied square.
+     */
+    public long occupancy() {
+        return occupied[PLAYER1] | occupied[PLAYER2];
+    }
+
+    /**
+     * Checks if the piece on a square is weakened.
+     *
+     * @param square The square index.
+     * @return True if the piece there is weakened.
+     */
+    public boolean isWeakened(int square) {
+        return (weakened & (1L << square)) != 0;
+    }
+
+    /**
+     * Sets or clears the weakened flag of the piece on a square.
+     *
+     * @param square   The square index.
+     * @param isWeak   True to weaken the piece.
+     */
+    public void setWeakened(int square, boolean isWeak) {
+        long bit = 1L << square;
+        if (((weakened & bit) != 0) != isWeak) {
+            weakened ^= bit;
+            hash ^= WEAKENED_KEYS[square];
+        }
+    }
+
+    /**
+     * Gets the mask of all weakened pieces.
+     *
+     * @return The weakened mask.
+     */
+    public long weakened() {
+        return weakened;
+    }
+
+    /**
+     * Gets the side currently holding a den.
+     *
+     * @param den The side index whose den is queried.
+     * @return The side index of the current holder.
+     */
+    public int denOwner(int den) {
+        return denOwner[den];
+    }
+
+    /**
+     * Sets the side currently holding a den.
+     *
+     * @param den   The side index whose den is changed.
+     * @param owner The side index of the new holder.
+     */
+    public void setDenOwner(int den, int owner) {
+        if (denOwner[den] != owner) {
+            denOwner[den] = owner;
+            hash ^= DEN_KEYS[den];
+        }
+    }
+
+    /**
+     * Gets the side to move.
+     *
+     * @return The side index to move.
+     */
+    public int sideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets the side to move.
+     *
+     * @param side The side index to move.
+     */
+    public void setSideToMove(int side) {
+        if (sideToMove != side) {
+            sideToMove = side;
+            hash ^= SIDE_KEY;
+        }
+    }
+
+    /**
+     * Gets the Zobrist key of the position, covering every piece, weakened flag,
+     * captured den and the side to move.
+     *
+     * @return The 64-bit position key.
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Recomputes the Zobrist key from scratch, for checking the incremental updates.
+     *
+     * @return The 64-bit position key.
+     */
+    public long computeHash() {
+        long key = 0;
+        for (int square = 0; square < SQUARES; square++) {
+            int code = mailbox[square];
+            if (code != EMPTY) {
+                key ^= PIECE_KEYS[code * SQUARES + square];
+            }
+            if ((weakened & (1L << square)) != 0) {
+                key ^= WEAKENED_KEYS[square];
+            }
+        }
+        for (int den = PLAYER1; den <= PLAYER2; den++) {
+            if (denOwner[den] != den) {
+                key ^= DEN_KEYS[den];
+            }
+        }
+        return sideToMove == PLAYER2 ? key ^ SIDE_KEY : key;
+    }
+
+    /**
+     * Plays a legal move: captures the piece on the destination, moves the piece,
+     * updates its weakened flag and den ownership, and passes the turn.
+     * The previous state is pushed on the undo stack.
+     *
+     * @param move The packed move, as produced by MoveGenerator.
+     */
+    public void makeMove(int move) {
+        if (ply == undoState.length) {
+            throw new IllegalStateException("Undo stack is full after " + ply + " moves");
+        }
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int side = sideOf(mailbox[from]);
+        int captured = mailbox[to];
+
+        undoState[ply] = move
+                | ((captured + 1) << 16)
+                | (denOwner[PLAYER1] << 21)
+                | (denOwner[PLAYER2] << 22)
+                | (sideToMove << 23);
+        undoWeakened[ply] = weakened;
+        undoHash[ply] = hash;
+        ply++;
+
+        if (captured != EMPTY) {
+            remove(to);
+        }
+        move(from, to);
+        setWeakened(to, (TRAP_MASK[side ^ 1] & (1L << to)) != 0);
+        if (to == DEN_SQUARE[side ^ 1]) {
+            setDenOwner(side ^ 1, side);
+        }
+        sideToMove ^= 1;
+        hash ^= SIDE_KEY;
+    }
+
+    /**
+     * Passes the turn without moving a piece. Used by the search to test whether
+     * a position is still good when the opponent moves twice; undone with unmakeMove.
+     */
+    public void makeNullMove() {
+        if (ply == undoState.length) {
+            throw new IllegalStateException("Undo stack is full after " + ply + " moves");
+        }
+        undoState[ply] = Move.NONE
+                | (denOwner[PLAYER1] << 21)
+                | (denOwner[PLAYER2] << 22)
+                | (sideToMove << 23);
+        undoWeakened[ply] = weakened;
+        undoHash[ply] = hash;
+        ply++;
+        sideToMove ^= 1;
+        hash ^= SIDE_KEY;
+    }
+
+    /**
+     * Takes back the last move made with makeMove or makeNullMove, restoring the exact previous state.
+     */
+    public void unmakeMove() {
+        if (ply == 0) {
+            throw new IllegalStateException("No move to undo");
+        }
+        ply--;
+        int state = undoState[ply];
+        int from = Move.from(state);
+        int to = Move.to(state);
+        int captured = ((state >>> 16) & 31) - 1;
+
+        if (from != to) { // Null moves leave the pieces where they are
+            move(to, from);
+        }
+        if (captured != EMPTY) {
+            put(to, sideOf(captured), typeOf(captured));
+        }
+        weakened = undoWeakened[ply];
+        denOwner[PLAYER1] = (state >>> 21) & 1;
+        denOwner[PLAYER2] = (state >>> 22) & 1;
+        sideToMove = (state >>> 23) & 1;
+        hash = undoHash[ply];
+    }
+
+    /**
+     * Forgets the moves on the undo stack while keeping the current state, so that a
+     * position with a short stack can follow a game of any length.
+     */
+    public void discardHistory() {
+        ply = 0;
+    }
+
+    /**
+     * Gets the Zobrist key a number of moves back on the undo stack,
+     * for repetition detection.
+     *
+     * @param movesBack How many moves to look back, from 1 to ply().
+     * @return The position key before that move was made.
+     */
+    public long hashBefore(int movesBack) {
+        return undoHash[ply - movesBack];
+    }
+
+    /**
+     * Gets the number of moves on the undo stack.
+     *
+     * @return The number of moves that can be undone.
+     */
+    public int ply() {
+        return ply;
+    }
+
+    /**
+     * Gets a move on the undo stack.
+     *
+     * @param index The index of the move, 0 being the oldest.
+     * @return The packed move.
+     */
+    public int moveAt(int index) {
+        return undoState[index] & 0xFFFF;
+    }
+
+    /**
+     * Gets the piece captured by the last move made.
+     *
+     * @return The captured piece code, or EMPTY if the last move was not a capture.
+     */
+    public int lastCaptured() {
+        return ply == 0 ? EMPTY : ((undoState[ply - 1] >>> 16) & 31) - 1;
+    }
+
+    /**
+     * Checks if a side still has pieces on the board.
+     *
+     * @param side The side index.
+     * @return True if the side has at least one piece.
+     */
+    public boolean hasPiecesLeft(int side) {
+        return occupied[side] != 0;
+    }
+
+    /**
+     * Checks if a side has a piece on the opponent's den.
+     *
+     * @param side The side index.
+     * @return True if one of the side's pieces reached the enemy den.
+     */
+    public boolean hasReachedDen(int side) {
+        return (occupied[side] & DEN_MASK[side ^ 1]) != 0;
+    }
+}
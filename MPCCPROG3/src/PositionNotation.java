@@ -0,0 +1,210 @@
+/**
+ * Text notation for positions, in the spirit of chess FEN. Three fields separated by spaces:
+ * - The board, rows 0 to 6 separated by '/', each row listing its 9 columns from left to right.
+ *   A piece is a letter, E L T P W D C R for Elephant, Lion, Tiger, Leopard, Wolf, Dog, Cat
+ *   and Rat, upper case for Player 1 and lower case for Player 2, followed by '+' if it is
+ *   weakened. A digit stands for that many empty squares.
+ * - The player to move, 1 or 2.
+ * - The holders of Player 1's den and Player 2's den, for example "12" when both
+ *   players hold their own. This field may be left out, with that meaning.
+ *
+ * The starting position is START. Parsing reads the text in place and fills an existing
+ * Position, so loading a position allocates nothing unless the text is invalid. Besides
+ * the syntax, it rejects a second copy of a piece, a piece other than a Rat in a lake
+ * and a piece on its own den.
+ */
+public final class PositionNotation {
+    public static final String START = "T1E3r1l/1C5d1/2W3p2/9/2P3w2/1D5c1/L1R3e1t 1 12";
+
+    private static final String LETTERS = "ELTPWDCR"; // Indexed by piece type
+    private static final byte[] PIECE_OF_CHAR = new byte[128]; // Piece code + 1 per ASCII letter, 0 if none
+
+    static {
+        for (int type = 0; type < LETTERS.length(); type++) {
+            char letter = LETTERS.charAt(type);
+            PIECE_OF_CHAR[letter] = (byte) (Position.code(Position.PLAYER1, type) + 1);
+            PIECE_OF_CHAR[Character.toLowerCase(letter)] = (byte) (Position.code(Position.PLAYER2, type) + 1);
+        }
+    }
+
+    private PositionNotation() {
+    }
+
+    /**
+     * Fills a position from its notation. The undo stack is cleared.
+     *
+     * @param text   The notation.
+     * @param target The position to fill in. If the text is invalid, it is left empty
+     *               rather than half filled.
+     * @throws IllegalArgumentException If the text is not valid notation or not a valid position.
+     */
+    public static void parse(CharSequence text, Position target) {
+        try {
+            parseInto(text, target);
+        } catch (IllegalArgumentException e) {
+            target.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Fills a position from its notation, stopping at the first error.
+     *
+     * @param text   The notation.
+     * @param target The position to fill in.
+     * @throws IllegalArgumentException If the text is not valid notation or not a valid position.
+     */
+    private static void parseInto(CharSequence text, Position target) {
+        target.clear();
+        int length = text.length();
+        int i = 0;
+        int row = 0;
+        int col = 0;
+
+        // Board
+        while (true) {
+            if (i >= length) {
+                throw error(text, i, "the board ends early");
+            }
+            char c = text.charAt(i++);
+            if (c == '/' || c == ' ') {
+                if (col != Position.COLS) {
+                    throw error(text, i - 1, "row " + row + " has " + col + " columns");
+                }
+                if (c == ' ') {
+                    if (row != Position.ROWS - 1) {
+                        throw error(text, i - 1, "the board has " + (row + 1) + " rows");
+                    }
+                    break;
+                }
+                if (++row == Position.ROWS) {
+                    throw error(text, i - 1, "the board has too many rows");
+                }
+                col = 0;
+            } else if (c >= '1' && c <= '9') {
+                col += c - '0';
+                if (col > Position.COLS) {
+                    throw error(text, i - 1, "row " + row + " is too long");
+                }
+            } else {
+                int code = c < PIECE_OF_CHAR.length ? PIECE_OF_CHAR[c] - 1 : Position.EMPTY;
+                if (code == Position.EMPTY) {
+                    throw error(text, i - 1, "unknown piece '" + c + "'");
+                }
+                if (col == Position.COLS) {
+                    throw error(text, i - 1, "row " + row + " is too long");
+                }
+                int square = Position.square(row, col++);
+                int side = Position.sideOf(code);
+                int type = Position.typeOf(code);
+                if (target.pieces(side, type) != 0) {
+                    throw error(text, i - 1, "a second '" + c + "'");
+                }
+                if (type != Position.RAT && Position.isLake(square)) {
+                    throw error(text, i - 1, "'" + c + "' in a lake");
+                }
+                if (square == Position.DEN_SQUARE[side]) {
+                    throw error(text, i - 1, "'" + c + "' on its own den");
+                }
+                target.put(square, side, type);
+                if (i < length && text.charAt(i) == '+') {
+                    target.setWeakened(square, true);
+                    i++;
+                }
+            }
+        }
+
+        // Player to move
+        target.setSideToMove(parseSide(text, i++));
+
+        // Den holders
+        if (i < length) {
+            if (text.charAt(i++) != ' ') {
+                throw error(text, i - 1, "expected a space before the den holders");
+            }
+            target.setDenOwner(Position.PLAYER1, parseSide(text, i++));
+            target.setDenOwner(Position.PLAYER2, parseSide(text, i++));
+            if (i < length) {
+                throw error(text, i, "unexpected text after the den holders");
+            }
+        }
+    }
+
+    /**
+     * Reads a player number.
+     *
+     * @param text  The notation.
+     * @param index The index of the digit.
+     * @return The side index of the player.
+     * @throws IllegalArgumentException If the character is not 1 or 2.
+     */
+    private static int parseSide(CharSequence text, int index) {
+        char c = index < text.length() ? text.charAt(index) : ' ';
+        if (c != '1' && c != '2') {
+            throw error(text, index, "expected player 1 or 2");
+        }
+        return c - '1';
+    }
+
+    /**
+     * Builds the exception for invalid notation.
+     *
+     * @param text    The notation.
+     * @param index   The index of the offending character.
+     * @param problem What is wrong.
+     * @return The exception to throw.
+     */
+    private static IllegalArgumentException error(CharSequence text, int index, String problem) {
+        return new IllegalArgumentException("Invalid position \"" + text + "\" at " + index + ": " + problem);
+    }
+
+    /**
+     * Formats a position.
+     *
+     * @param position The position.
+     * @return The notation, with all three fields.
+     */
+    public static String format(Position position) {
+        StringBuilder out = new StringBuilder(80);
+        format(position, out);
+        return out.toString();
+    }
+
+    /**
+     * Appends the notation of a position to a builder.
+     *
+     * @param position The position.
+     * @param out      The builder to append to.
+     */
+    public static void format(Position position, StringBuilder out) {
+        for (int row = 0; row < Position.ROWS; row++) {
+            if (row > 0) {
+                out.append('/');
+            }
+            int empty = 0;
+            for (int col = 0; col < Position.COLS; col++) {
+                int square = Position.square(row, col);
+                int code = position.pieceAt(square);
+                if (code == Position.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    out.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                char letter = LETTERS.charAt(Position.typeOf(code));
+                out.append(Position.sideOf(code) == Position.PLAYER1 ? letter : Character.toLowerCase(letter));
+                if (position.isWeakened(square)) {
+                    out.append('+');
+                }
+            }
+            if (empty > 0) {
+                out.append((char) ('0' + empty));
+            }
+        }
+        out.append(' ').append((char) ('1' + position.sideToMove()));
+        out.append(' ').append((char) ('1' + position.denOwner(Position.PLAYER1)))
+                .append((char) ('1' + position.denOwner(Position.PLAYER2)));
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * An immutable copy of the game state after a move, safe to read from any thread.
+ * GameModel publishes a new snapshot through a volatile field after every change,
+ * so threads other than the event dispatch thread (the computer player, an autosave,
+ * spectators) get a consistent view without locking, while Board, Square and Piece
+ * stay confined to the thread that plays the moves.
+ *
+ * The state is held in the Position.writeSnapshot layout: one bitboard per piece code,
+ * then the weakened squares, the side to move and den holders, and the Zobrist key.
+ */
+public final class PositionSnapshot {
+    private static final int WEAKENED = 2 * Position.PIECE_TYPES;
+    private static final int STATE = WEAKENED + 1;
+    private static final int HASH = WEAKENED + 2;
+
+    private final long[] state; // Never modified after construction
+    private final int moveCount;
+    private final int winner;
+
+    /**
+     * Captures a position.
+     *
+     * @param position  The position to copy.
+     * @param moveCount The number of moves played to reach it.
+     * @param winner    The ID of the winning player, or 0 while the game runs.
+     */
+    public PositionSnapshot(Position position, int moveCount, int winner) {
+        state = new long[Position.SNAPSHOT_LONGS];
+        position.writeSnapshot(state, 0);
+        this.moveCount = moveCount;
+        this.winner = winner;
+    }
+
+    /**
+     * Copies the snapshot into a mutable position, for example to search from it.
+     * The undo stack of the position is cleared.
+     *
+     * @param target The position to overwrite.
+     */
+    public void copyTo(Position target) {
+        target.readSnapshot(state, 0);
+    }
+
+    /**
+     * Gets the piece on a square.
+     *
+     * @param square The square index.
+     * @return The piece code, or Position.EMPTY.
+     */
+    public int pieceAt(int square) {
+        long bit = 1L << square;
+        for (int code = 0; code < WEAKENED; code++) {
+            if ((state[code] & bit) != 0) {
+                return code;
+            }
+        }
+        return Position.EMPTY;
+    }
+
+    /**
+     * Gets the squares holding one kind of piece.
+     *
+     * @param side The side index.
+     * @param type The piece type index.
+     * @return A bitboard of the squares.
+     */
+    public long pieces(int side, int type) {
+        return state[Position.code(side, type)];
+    }
+
+    /**
+     * Checks whether the piece on a square is weakened by an enemy trap.
+     *
+     * @param square The square index.
+     * @return True if the piece is weakened.
+     */
+    public boolean isWeakened(int square) {
+        return (state[WEAKENED] & (1L << square)) != 0;
+    }
+
+    /**
+     * Gets the side to move.
+     *
+     * @return The side index of the player to move.
+     */
+    public int sideToMove() {
+        return (int) state[STATE] & 1;
+    }
+
+    /**
+     * Gets the holder of a den.
+     *
+     * @param den The side index of the den's original owner.
+     * @return The side index of the player holding it.
+     */
+    public int denOwner(int den) {
+        return (int) (state[STATE] >>> (1 + den)) & 1;
+    }
+
+    /**
+     * Gets the Zobrist key of the position.
+     *
+     * @return The hash.
+     */
+    public long hash() {
+        return state[HASH];
+    }
+
+    /**
+     * Gets the number of moves played to reach the position.
+     *
+     * @return The move count.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Gets the winner.
+     *
+     * @return The ID of the winning player, or 0 while the game runs.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Checks whether the game was over when the snapshot was taken.
+     *
+     * @return True if a player has won.
+     */
+    public boolean isGameEnded() {
+        return winner != 0;
+    }
+}
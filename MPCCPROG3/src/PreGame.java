@@ -2,7 +2,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -20,6 +19,8 @@ public class PreGame extends JFrame {
     };
     private final HashMap<String, Integer> PIECE_POWER = new HashMap<>();
     private JButton[] pokeballButtons;
+    private JLayeredPane[] pokeballPanes; // Layered pane of each Pokéball, for the computer's pick
+    private boolean vsComputer = false;   // True if Player 2 is the computer
     private String[] randomizedPieces; // Array to hold randomized piece assignments
     private String player1Choice = null;
     private String player2Choice = null;
@@ -30,7 +31,6 @@ public class PreGame extends JFrame {
     private String player2Name = "";
     private JPanel namePanel;
     private JPanel selectionPanel;
-    private Font pixelFont;
     private ImageIcon backgroundImage;
     private ImageIcon textboxImage;
     private BufferedImage backgroundBuffered;
@@ -42,27 +42,6 @@ public class PreGame extends JFrame {
     private static final int TYPING_SPEED = 50; // milliseconds per character
     private Timer repaintTimer;
 
-    /**
-     * Converts a given Image to a BufferedImage.
-     *
-     * @param img The Image to be converted.
-     * @return The corresponding BufferedImage.
-     */
-    private BufferedImage toBufferedImage(Image img) {
-        if (img instanceof BufferedImage) {
-            return (BufferedImage) img;
-        }
-        BufferedImage bimage = new BufferedImage(
-                img.getWidth(null),
-                img.getHeight(null),
-                BufferedImage.TYPE_INT_ARGB
-        );
-        Graphics2D bGr = bimage.createGraphics();
-        bGr.drawImage(img, 0, 0, null);
-        bGr.dispose();
-        return bimage;
-    }
-
     /**
      * Initializes the PreGame setup with necessary UI components and assets.
      * It randomizes the piece assignments, loads the font, background images,
@@ -77,32 +56,12 @@ public class PreGame extends JFrame {
         // Create and shuffle the pieces array
         randomizePieces();
 
-        // Load custom font
-        try {
-            pixelFont = Font.createFont(Font.TRUETYPE_FONT, new File("assets/fonts/Pokemon Classic.ttf"));
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(pixelFont);
-        } catch (Exception e) {
-            e.printStackTrace();
-            pixelFont = new Font("Arial", Font.PLAIN, 12);
-        }
-
-        // Load and prepare background image
-        try {
-            backgroundImage = new ImageIcon("assets/menubackground.png");
-            Image img = backgroundImage.getImage();
-            MediaTracker tracker = new MediaTracker(this);
-            tracker.addImage(img, 0);
-            tracker.waitForAll();
-            backgroundBuffered = toBufferedImage(img);
-            backgroundImage = new ImageIcon(backgroundBuffered);
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error loading background image");
-        }
+        // Background image, already decoded by the asset registry
+        backgroundBuffered = AssetRegistry.getImage("assets/menubackground.png");
+        backgroundImage = new ImageIcon(backgroundBuffered);
 
         // Load textbox image
-        textboxImage = new ImageIcon("assets/textbox.png");
+        textboxImage = AssetRegistry.getIcon("assets/textbox.png");
 
         setupWindow();
         showNameInput();
@@ -157,7 +116,7 @@ public class PreGame extends JFrame {
 
         // Status label with custom font
         statusLabel = new JLabel("Enter Player Names", SwingConstants.CENTER);
-        statusLabel.setFont(pixelFont.deriveFont(20f));
+        statusLabel.setFont(FontRegistry.getPixelFont(20f));
         statusLabel.setForeground(new Color(247, 237, 163));
         statusLabel.setBorder(BorderFactory.createEmptyBorder(20, 0, 0, 0));  // Add 10px top margin
         add(statusLabel, BorderLayout.NORTH);
@@ -196,9 +155,9 @@ public class PreGame extends JFrame {
         };
         JLabel p1Label = new JLabel("Player 1 Name: ");
         p1Label.setForeground(new Color(250, 241, 173));  // #faf1ad
-        p1Label.setFont(pixelFont.deriveFont(16f));
+        p1Label.setFont(FontRegistry.getPixelFont(16f));
         JTextField p1Field = new JTextField(15);
-        p1Field.setFont(pixelFont.deriveFont(16f));
+        p1Field.setFont(FontRegistry.getPixelFont(16f));
         p1Field.setBackground(new Color(255, 255, 245));  // Very pale yellow
         p1Field.setForeground(new Color(106, 41, 66));  // #6a2942
         p1Panel.add(p1Label);
@@ -215,18 +174,34 @@ public class PreGame extends JFrame {
         };
         JLabel p2Label = new JLabel("Player 2 Name: ");
         p2Label.setForeground(new Color(250, 241, 173));  // #faf1ad
-        p2Label.setFont(pixelFont.deriveFont(16f));
+        p2Label.setFont(FontRegistry.getPixelFont(16f));
         JTextField p2Field = new JTextField(15);
-        p2Field.setFont(pixelFont.deriveFont(16f));
+        p2Field.setFont(FontRegistry.getPixelFont(16f));
         p2Field.setBackground(new Color(255, 255, 245));  // Very pale yellow
         p2Field.setForeground(new Color(106, 41, 66));  // #6a2942
         p2Panel.add(p2Label);
         p2Panel.add(p2Field);
         p2Panel.setOpaque(false);
 
+        // Option to let the computer play as Player 2
+        JCheckBox computerBox = new JCheckBox("Play against the computer");
+        computerBox.setFont(FontRegistry.getPixelFont(14f));
+        computerBox.setForeground(new Color(250, 241, 173));  // #faf1ad
+        computerBox.setOpaque(false);
+        computerBox.setFocusPainted(false);
+        computerBox.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        computerBox.addActionListener(e -> {
+            boolean selected = computerBox.isSelected();
+            p2Field.setText(selected ? "Computer" : "");
+            p2Field.setEnabled(!selected);
+        });
+        JPanel computerPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        computerPanel.setOpaque(false);
+        computerPanel.add(computerBox);
+
         // Continue button with custom images
-        ImageIcon normalIcon = new ImageIcon("assets/pokeballselect.png");
-        ImageIcon hoverIcon = new ImageIcon("assets/pokeballselecthover.png");
+        ImageIcon normalIcon = AssetRegistry.getIcon("assets/pokeballselect.png");
+        ImageIcon hoverIcon = AssetRegistry.getIcon("assets/pokeballselecthover.png");
         JLabel continueButton = new JLabel(normalIcon);
         continueButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
         continueButton.addMouseListener(new MouseAdapter() {
@@ -257,6 +232,7 @@ public class PreGame extends JFrame {
 
                 player1Name = p1Name;
                 player2Name = p2Name;
+                vsComputer = computerBox.isSelected();
 
                 // Switch to Pokéball selection
                 remove(namePanel);
@@ -281,7 +257,9 @@ public class PreGame extends JFrame {
         namePanel.add(p1Panel);
         namePanel.add(Box.createRigidArea(new Dimension(0, 20)));
         namePanel.add(p2Panel);
-        namePanel.add(Box.createRigidArea(new Dimension(0, 40)));
+        namePanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        namePanel.add(computerPanel);
+        namePanel.add(Box.createRigidArea(new Dimension(0, 30)));
         namePanel.add(buttonPanel);
 
         // Add name panel to frame
@@ -299,7 +277,7 @@ public class PreGame extends JFrame {
     private void showStyledMessageDialog(Component parentComponent, String message, String title, int messageType) {
         // Create a styled label for the message
         JLabel label = new JLabel("<html><div style='text-align: center;'>" + message + "</div></html>");
-        label.setFont(pixelFont.deriveFont(16f));
+        label.setFont(FontRegistry.getPixelFont(16f));
         label.setForeground(new Color(106, 41, 66));  // #6a2942 - Dark pink
         
         // Create the option pane with custom styling
@@ -314,7 +292,7 @@ public class PreGame extends JFrame {
         
         // Style the title
         JLabel titleLabel = new JLabel(title);
-        titleLabel.setFont(pixelFont.deriveFont(18f));
+        titleLabel.setFont(FontRegistry.getPixelFont(18f));
         titleLabel.setForeground(new Color(106, 41, 66));
         
         // Get the title bar and set its font
@@ -326,7 +304,7 @@ public class PreGame extends JFrame {
             // Look for the title label in the title pane
             for (Component comp : titlePane.getComponents()) {
                 if (comp instanceof JLabel) {
-                    ((JLabel) comp).setFont(pixelFont.deriveFont(18f));
+                    ((JLabel) comp).setFont(FontRegistry.getPixelFont(18f));
                     ((JLabel) comp).setForeground(new Color(106, 41, 66));
                     break;
                 }
@@ -344,7 +322,7 @@ public class PreGame extends JFrame {
         for (Component comp : ((JOptionPane) contentPane.getComponent(0)).getComponents()) {
             if (comp instanceof JButton) {
                 JButton button = (JButton) comp;
-                button.setFont(pixelFont.deriveFont(16f));
+                button.setFont(FontRegistry.getPixelFont(16f));
                 button.setForeground(new Color(106, 41, 66));
                 button.setBackground(new Color(251, 199, 218));  // Light pink
                 button.setFocusPainted(false);
@@ -412,12 +390,14 @@ public class PreGame extends JFrame {
 
         // Create Pokéball buttons with scaled images
         pokeballButtons = new JButton[8];
+        pokeballPanes = new JLayeredPane[8];
         for (int i = 0; i < 8; i++) {
             final int index = i;
 
             // Create a layered pane for each pokeball slot
             JLayeredPane layeredPane = new JLayeredPane();
             layeredPane.setPreferredSize(new Dimension(100, 100));  // Increased size of layered pane
+            pokeballPanes[i] = layeredPane;
 
             pokeballButtons[i] = new JButton();
             pokeballButtons[i].setContentAreaFilled(false);
@@ -425,8 +405,8 @@ public class PreGame extends JFrame {
             pokeballButtons[i].setFocusPainted(false);
 
             // Load and scale images
-            ImageIcon normalIcon = new ImageIcon("assets/pokeballs/" + POKEBALLS[i] + ".png");
-            ImageIcon hoverIcon = new ImageIcon("assets/pokeballs/" + POKEBALLS[i] + "hover.png");
+            ImageIcon normalIcon = AssetRegistry.getIcon("assets/pokeballs/" + POKEBALLS[i] + ".png");
+            ImageIcon hoverIcon = AssetRegistry.getIcon("assets/pokeballs/" + POKEBALLS[i] + "hover.png");
 
             // Scale images to fit window
             Image normalImg = normalIcon.getImage().getScaledInstance(80, 80, Image.SCALE_SMOOTH);  // Adjusted size
@@ -500,7 +480,7 @@ public class PreGame extends JFrame {
 
         // Message label with adjusted font size and HTML formatting for line breaks
         messageLabel = new JLabel("", SwingConstants.CENTER);
-        messageLabel.setFont(pixelFont.deriveFont(14f));
+        messageLabel.setFont(FontRegistry.getPixelFont(14f));
         messageLabel.setForeground(new Color(250, 241, 173));  // #faf1ad
         messageLabel.setBorder(BorderFactory.createEmptyBorder(10, 40, 10, 40));  // Reduced top padding from 30 to 25
         textBoxPanel.add(messageLabel, BorderLayout.CENTER);
@@ -569,8 +549,8 @@ public class PreGame extends JFrame {
                     ((Timer)e.getSource()).stop();
 
                     // Create and style the start button with custom images
-                    ImageIcon normalIcon = new ImageIcon("assets/startgame.png");
-                    ImageIcon hoverIcon = new ImageIcon("assets/startgamehover.png");
+                    ImageIcon normalIcon = AssetRegistry.getIcon("assets/startgame.png");
+                    ImageIcon hoverIcon = AssetRegistry.getIcon("assets/startgamehover.png");
                     JLabel startButton = new JLabel(normalIcon);
                     startButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
 
@@ -650,6 +630,10 @@ public class PreGame extends JFrame {
             showAnimalIcon(layeredPane, animalName, "p1");
 
             statusLabel.setText(player2Name + ", choose a Pokéball!");
+
+            if (vsComputer) {
+                pickPokeballForComputer(index);
+            }
         } else {
             player2Choice = randomizedPieces[index];
             player2Index = index;
@@ -691,6 +675,19 @@ public class PreGame extends JFrame {
         }
     }
 
+    /**
+     * Lets the computer pick a random Pokéball other than Player 1's after a short pause.
+     *
+     * @param player1Index The index of the Pokéball chosen by Player 1.
+     */
+    private void pickPokeballForComputer(int player1Index) {
+        disableAllPokeballs();
+        int choice = (player1Index + 1 + (int) (Math.random() * (POKEBALLS.length - 1))) % POKEBALLS.length;
+        Timer pickTimer = new Timer(800, e -> handlePokemonSelection(choice, pokeballPanes[choice]));
+        pickTimer.setRepeats(false);
+        pickTimer.start();
+    }
+
     /**
      * Displays the animal icon in the center of the selected Pokéball.
      * @param layeredPane The layered pane where the icon will be displayed.
@@ -699,7 +696,7 @@ public class PreGame extends JFrame {
      */
     private void showAnimalIcon(JLayeredPane layeredPane, String animalName, String player) {
         try {
-            ImageIcon animalIcon = new ImageIcon("assets/" + animalName + player + ".png");
+            ImageIcon animalIcon = AssetRegistry.getIcon("assets/" + animalName + player + ".png");
             Image scaledAnimal = animalIcon.getImage().getScaledInstance(80, 80, Image.SCALE_SMOOTH);  // Increased from 50x50 to 65x65
             JLabel animalLabel = new JLabel(new ImageIcon(scaledAnimal));
 
@@ -730,10 +727,12 @@ public class PreGame extends JFrame {
             model.initializeBoard(p1First);
             GameController controller = new GameController(model);
             GameView view = controller.getView();
-            model.setView(view); // Set the view in the model
             view.setPlayerNames(player1Name, player2Name); // Set player names
             view.updateBoard(model); // Make sure board is updated
             view.setVisible(true);
+            if (vsComputer) {
+                controller.setComputerPlayer(new ComputerPlayer(2)); // Computer plays as Player 2
+            }
         });
     }
 }
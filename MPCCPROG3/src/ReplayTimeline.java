@@ -0,0 +1,204 @@
+import java.util.Arrays;
+
+/**
+ * The moves of one game with the position after any of them a constant number of
+ * steps away. A compact snapshot of the position (Position.writeSnapshot) is kept
+ * every CHECKPOINT_INTERVAL moves; seeking to a ply either unmakes the few moves in
+ * between or restores the nearest checkpoint before the target and makes at most
+ * CHECKPOINT_INTERVAL - 1 moves from there. The cost of a seek does not depend on
+ * the length of the game or the distance travelled.
+ *
+ * Playing a move when not at the end of the timeline discards the moves after it,
+ * like typing after an undo.
+ */
+public class ReplayTimeline {
+    public static final int CHECKPOINT_INTERVAL = 16;
+    private static final int UNDO_DEPTH = 4 * CHECKPOINT_INTERVAL; // Moves that can be unmade without a checkpoint
+
+    private final Position position = new Position(UNDO_DEPTH);
+    private int[] moves = new int[256];
+    private long[] checkpoints = new long[16 * Position.SNAPSHOT_LONGS]; // Checkpoint k is the position after k * CHECKPOINT_INTERVAL moves
+    private int length; // Number of moves in the timeline
+    private int ply;    // Number of moves made on the position
+
+    /**
+     * Constructs a timeline at the starting position with Player 1 to move.
+     */
+    public ReplayTimeline() {
+        reset(true);
+    }
+
+    /**
+     * Clears the timeline and starts it from the starting position.
+     *
+     * @param player1First True if Player 1 moves first.
+     */
+    public void reset(boolean player1First) {
+        position.setStartPosition();
+        position.setSideToMove(player1First ? Position.PLAYER1 : Position.PLAYER2);
+        position.writeSnapshot(checkpoints, 0);
+        length = 0;
+        ply = 0;
+    }
+
+    /**
+     * Clears the timeline and starts it from a given position.
+     *
+     * @param start The position before the first move.
+     */
+    public void reset(Position start) {
+        position.copyFrom(start);
+        position.writeSnapshot(checkpoints, 0);
+        length = 0;
+        ply = 0;
+    }
+
+    /**
+     * Replaces the timeline with the moves of a recorded game.
+     *
+     * @param game    A reader positioned on the game.
+     * @param scratch A buffer with room for at least 4 moves.
+     * @throws IllegalArgumentException If the game has an illegal move.
+     */
+    public void load(GameRecordReader game, int[] scratch) {
+        reset(game.isPlayer1First());
+        for (int i = 0; i < game.getMoveCount(); i++) {
+            int move = GameRecord.decode(position, game.getMoveCode(i), scratch);
+            if (move == Move.NONE) {
+                throw new IllegalArgumentException("Illegal move " + (i + 1) + " in game at offset " + game.getGameOffset());
+            }
+            play(move);
+        }
+    }
+
+    /**
+     * Plays a move at the current ply, dropping any moves after it.
+     *
+     * @param move The packed move, legal in the current position.
+     */
+    public void play(int move) {
+        if (ply == moves.length) {
+            moves = Arrays.copyOf(moves, ply * 2);
+        }
+        moves[ply] = move;
+        apply(move);
+        length = ply;
+        if (ply % CHECKPOINT_INTERVAL == 0) {
+            int offset = (ply / CHECKPOINT_INTERVAL) * Position.SNAPSHOT_LONGS;
+            if (offset + Position.SNAPSHOT_LONGS > checkpoints.length) {
+                checkpoints = Arrays.copyOf(checkpoints, checkpoints.length * 2);
+            }
+            position.writeSnapshot(checkpoints, offset);
+        }
+    }
+
+    /**
+     * Makes a move on the position. As in GameModel, the mover keeps the turn
+     * when the opponent has no pieces left.
+     *
+     * @param move The packed move.
+     */
+    private void apply(int move) {
+        if (position.ply() == UNDO_DEPTH) {
+            position.discardHistory(); // Older moves are reached through checkpoints instead
+        }
+        int side = position.sideToMove();
+        position.makeMove(move);
+        if (!position.hasPiecesLeft(side ^ 1)) {
+            position.setSideToMove(side);
+        }
+        ply++;
+    }
+
+    /**
+     * Moves to the position after a number of moves.
+     *
+     * @param target The ply to move to, from 0 to getLength().
+     */
+    public void seek(int target) {
+        if (target < 0 || target > length) {
+            throw new IllegalArgumentException("Ply " + target + " is outside 0.." + length);
+        }
+        if (target < ply && ply - target <= position.ply()) {
+            // A few moves back: unmake them
+            while (ply > target) {
+                position.unmakeMove();
+                ply--;
+            }
+            return;
+        }
+        if (target < ply || target - ply > target % CHECKPOINT_INTERVAL) {
+            // Start from the checkpoint at or before the target
+            int checkpoint = target / CHECKPOINT_INTERVAL;
+            position.readSnapshot(checkpoints, checkpoint * Position.SNAPSHOT_LONGS);
+            ply = checkpoint * CHECKPOINT_INTERVAL;
+        }
+        while (ply < target) {
+            apply(moves[ply]);
+        }
+    }
+
+    /**
+     * Steps back one move.
+     *
+     * @return False if already at the start.
+     */
+    public boolean undo() {
+        if (ply == 0) {
+            return false;
+        }
+        seek(ply - 1);
+        return true;
+    }
+
+    /**
+     * Steps forward one move.
+     *
+     * @return False if already at the end.
+     */
+    public boolean redo() {
+        if (ply == length) {
+            return false;
+        }
+        seek(ply + 1);
+        return true;
+    }
+
+    /**
+     * Gets the position at the current ply. It is updated in place by the timeline
+     * and must not be changed by the caller.
+     *
+     * @return The current position.
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the current ply.
+     *
+     * @return The number of moves made to reach the current position.
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * Gets the length of the timeline.
+     *
+     * @return The number of moves, including those after the current ply.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets one move of the timeline.
+     *
+     * @param index The index of the move, 0 being the first.
+     * @return The packed move.
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+}
@@ -0,0 +1,267 @@
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computer opponent search: iterative deepening over a principal-variation
+ * alpha-beta Searcher, sharing one TranspositionTable between searches.
+ * A search stops cleanly at a wall-clock budget, a node limit or a call to stop(),
+ * and returns the best move of the deepest iteration it reached.
+ *
+ * With more than one thread the engine runs a lazy SMP search: helper threads
+ * search the same root with their own Searcher and a depth offset, and only
+ * cooperate through the shared table. The calling thread is the main searcher;
+ * when it finishes, the helpers are stopped and the deepest completed result wins.
+ */
+public class SearchEngine {
+    private static final int WARMUP_LIMIT = 8; // Most untimed searches main runs before measuring
+
+    private final TranspositionTable table;
+    private final Searcher[] searchers;   // Index 0 runs on the calling thread
+    private final ExecutorService helpers; // Null for a single-threaded engine
+    private final Future<?>[] running;
+    private final int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+    private final AtomicLong sharedNodes = new AtomicLong();
+
+    private volatile boolean stopped;
+    private long deadline;  // System.nanoTime() at which to stop, or 0 for no time limit
+    private long nodeLimit; // Nodes after which to stop, or 0 for no limit
+
+    /**
+     * Constructs a single-threaded search engine.
+     *
+     * @param table The transposition table to use.
+     */
+    public SearchEngine(TranspositionTable table) {
+        this(table, 1);
+    }
+
+    /**
+     * Constructs a search engine that searches with several threads.
+     *
+     * @param table   The transposition table shared by all threads.
+     * @param threads The number of search threads, at least 1.
+     */
+    public SearchEngine(TranspositionTable table, int threads) {
+        this.table = table;
+        this.searchers = new Searcher[Math.max(1, threads)];
+        for (int i = 0; i < searchers.length; i++) {
+            searchers[i] = new Searcher(this, table);
+        }
+        this.running = new Future<?>[searchers.length];
+        if (searchers.length > 1) {
+            // Idle helper threads die after a minute, so abandoned engines do not leak threads
+            helpers = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "search-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            helpers = null;
+        }
+    }
+
+    /**
+     * Searches a position until the time budget or node limit runs out.
+     *
+     * @param root        The position to search; it is not modified.
+     * @param timeLimitMs The wall-clock budget in milliseconds, or 0 for none.
+     * @param nodeLimit   The maximum number of nodes, or 0 for none.
+     * @return The result of the deepest iteration reached.
+     */
+    public SearchResult search(Position root, long timeLimitMs, long nodeLimit) {
+        return search(root, timeLimitMs, nodeLimit, Searcher.MAX_PLY - 1);
+    }
+
+    /**
+     * Searches a position until the depth is reached or a limit runs out.
+     *
+     * @param root        The position to search; it is not modified.
+     * @param timeLimitMs The wall-clock budget in milliseconds, or 0 for none.
+     * @param nodeLimit   The maximum number of nodes, or 0 for none.
+     * @param maxDepth    The deepest iteration to run.
+     * @return The result of the deepest iteration reached.
+     */
+    public SearchResult search(Position root, long timeLimitMs, long nodeLimit, int maxDepth) {
+        long start = System.nanoTime();
+        this.deadline = timeLimitMs > 0 ? start + timeLimitMs * 1_000_000L : 0;
+        this.nodeLimit = nodeLimit;
+        this.stopped = false;
+        sharedNodes.set(0);
+        table.newSearch();
+
+        int legalMoves = MoveGenerator.generate(root, rootMoves, 0);
+        if (legalMoves == 0) {
+            return new SearchResult(Move.NONE, -Searcher.MATE, 0, 0, elapsedMs(start));
+        }
+
+        int depthLimit = Math.min(maxDepth, Searcher.MAX_PLY - 1);
+        int firstMove = rootMoves[0];
+        for (Searcher searcher : searchers) {
+            searcher.reset(root);
+        }
+        for (int i = 1; i < searchers.length; i++) {
+            Searcher helper = searchers[i];
+            int offset = helperDepthOffset(i);
+            running[i] = helpers.submit(() -> helper.iterate(firstMove, legalMoves, depthLimit, offset));
+        }
+        searchers[0].iterate(firstMove, legalMoves, depthLimit, 0);
+        stopped = true;
+        waitForHelpers();
+
+        // Prefer the deepest completed iteration; the main thread wins ties
+        Searcher best = searchers[0];
+        long nodes = 0;
+        for (Searcher searcher : searchers) {
+            nodes += searcher.getNodes();
+            if (searcher.getCompletedDepth() > best.getCompletedDepth()
+                    && searcher.getCompletedMove() != Move.NONE) {
+                best = searcher;
+            }
+        }
+        return new SearchResult(best.getCompletedMove(), best.getCompletedScore(),
+                best.getCompletedDepth(), nodes, elapsedMs(start));
+    }
+
+    /**
+     * Asks a running search to stop as soon as possible.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Gets the transposition table used by the engine.
+     *
+     * @return The transposition table.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the number of threads the engine searches with.
+     *
+     * @return The thread count, including the calling thread.
+     */
+    public int getThreadCount() {
+        return searchers.length;
+    }
+
+    /**
+     * Checks if the running search has been asked to stop.
+     *
+     * @return True if the search must unwind.
+     */
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Adds to the node count of the running search and stops it if its time
+     * budget or node limit has run out.
+     *
+     * @param nodes The number of nodes searched since the last check by the calling thread.
+     */
+    void checkLimits(long nodes) {
+        long total = sharedNodes.addAndGet(nodes);
+        if ((nodeLimit > 0 && total >= nodeLimit) || (deadline != 0 && System.nanoTime() >= deadline)) {
+            stopped = true;
+        }
+    }
+
+    /**
+     * Gets the depth offset of a helper thread. Half of the helpers search
+     * one ply deeper than the main thread so that the threads spread over
+     * two depths instead of all repeating the same iteration.
+     *
+     * @param index The index of the helper, from 1.
+     * @return The number of plies to add to every iteration.
+     */
+    private static int helperDepthOffset(int index) {
+        return index & 1;
+    }
+
+    /**
+     * Waits for the helper threads of the last search to unwind.
+     */
+    private void waitForHelpers() {
+        boolean interrupted = false;
+        for (int i = 1; i < running.length; i++) {
+            while (running[i] != null) {
+                try {
+                    running[i].get();
+                    running[i] = null;
+                } catch (InterruptedException e) {
+                    interrupted = true; // Helpers always finish once stopped; keep waiting
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Search helper failed", e.getCause());
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the time elapsed since a start time.
+     *
+     * @param start The start time from System.nanoTime().
+     * @return The elapsed time in milliseconds.
+     */
+    private static long elapsedMs(long start) {
+        return (System.nanoTime() - start) / 1_000_000L;
+    }
+
+    /**
+     * Measures the engine from the start position with 1, 2, 4, ... threads up to
+     * the given count, printing the nodes per second and the time-to-depth speedup
+     * over a single thread. Each thread count starts from an empty table. Untimed
+     * searches run first until their time stops dropping, so the JIT has settled.
+     *
+     * Usage: java SearchEngine [maxThreads] [depth] [tableMb]
+     *
+     * @param args The optional maximum thread count, search depth and table size.
+     */
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 11;
+        int tableMb = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        Position root = new Position();
+        root.setStartPosition();
+        TranspositionTable table = new TranspositionTable(tableMb);
+
+        // Untimed searches until the JIT has settled, so the single-thread baseline that
+        // every speedup is divided by is not inflated by compilation
+        long lastMs = Long.MAX_VALUE;
+        for (int i = 0; i < WARMUP_LIMIT; i++) {
+            table.clear();
+            long ms = new SearchEngine(table, 1).search(root, 0, 0, depth).getElapsedMs();
+            if (ms > lastMs * 9 / 10) {
+                break; // Less than 10% faster than the previous run
+            }
+            lastMs = ms;
+        }
+
+        long baseMs = 0;
+        System.out.println("threads  depth  time(ms)      nodes    nodes/s  speedup");
+        for (int count = 1; ; count *= 2) {
+            int threads = Math.min(count, maxThreads);
+            table.clear();
+            SearchResult result = new SearchEngine(table, threads).search(root, 0, 0, depth);
+            long ms = Math.max(1, result.getElapsedMs());
+            if (threads == 1) {
+                baseMs = ms;
+            }
+            System.out.printf("%7d  %5d  %8d  %9d  %9d  %7.2f%n", threads, result.getDepth(), ms,
+                    result.getNodes(), result.getNodesPerSecond(), baseMs / (double) ms);
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Outcome of one engine search: the best move found and how much work it took.
+ */
+public class SearchResult {
+    private final int bestMove;  // Packed move, or Move.NONE if there is no legal move
+    private final int score;     // Score from the point of view of the side to move
+    private final int depth;     // Deepest fully completed iteration
+    private final long nodes;    // Positions visited
+    private final long elapsedMs; // Wall-clock time of the search
+
+    /**
+     * Constructs a search result.
+     *
+     * @param bestMove  The best move found.
+     * @param score     The score of the best move.
+     * @param depth     The deepest completed iteration.
+     * @param nodes     The number of positions visited.
+     * @param elapsedMs The search time in milliseconds.
+     */
+    public SearchResult(int bestMove, int score, int depth, long nodes, long elapsedMs) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedMs = elapsedMs;
+    }
+
+    /**
+     * Gets the best move found.
+     *
+     * @return The packed move, or Move.NONE if the side to move has no legal move.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Gets the score of the best move.
+     *
+     * @return The score in centipawn-like units from the side to move's point of view.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the deepest fully completed iteration.
+     *
+     * @return The search depth in plies.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the number of positions visited.
+     *
+     * @return The node count.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the search time.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * Gets the search speed.
+     *
+     * @return The number of nodes visited per second.
+     */
+    public long getNodesPerSecond() {
+        return nodes * 1000 / Math.max(1, elapsedMs);
+    }
+
+    /**
+     * Describes the result on one line.
+     *
+     * @return The result as text.
+     */
+    @Override
+    public String toString() {
+        return "depth " + depth + " score " + score + " move "
+                + (bestMove == Move.NONE ? "none" : Move.toString(bestMove))
+                + " nodes " + nodes + " time " + elapsedMs + "ms nps " + getNodesPerSecond();
+    }
+}
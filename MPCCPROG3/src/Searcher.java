@@ -0,0 +1,504 @@
+import java.util.Arrays;
+
+/**
+ * Searches one Position with principal-variation alpha-beta.
+ * A Searcher owns its position copy, move buffers, killer moves and history
+ * counters, so it allocates nothing while searching; the transposition table
+ * and the stop signal are shared through the SearchEngine that runs it.
+ */
+class Searcher {
+    static final int MAX_PLY = 128;
+    static final int INFINITY = 32000;
+    static final int MATE = 30000;          // Score of reaching the den, minus the plies needed
+    static final int MATE_BOUND = MATE - MAX_PLY;
+
+    private static final int[] PIECE_VALUE = {1000, 900, 800, 500, 400, 300, 250, 350}; // In PieceType order
+    private static final int[] EVAL = new int[2 * Position.PIECE_TYPES * Position.SQUARES];
+
+    private static final int TT_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 27;
+    private static final int CHECK_INTERVAL = 1023; // Check the limits every 1024 nodes
+
+    static {
+        // Material plus a bonus for getting closer to the enemy den
+        for (int side = Position.PLAYER1; side <= Position.PLAYER2; side++) {
+            int den = Position.DEN_SQUARE[side ^ 1];
+            for (int type = 0; type < Position.PIECE_TYPES; type++) {
+                for (int square = 0; square < Position.SQUARES; square++) {
+                    int distance = Math.abs(Position.row(square) - Position.row(den))
+                            + Math.abs(Position.col(square) - Position.col(den));
+                    int bonus = (11 - distance) * 6;
+                    if (distance == 1) {
+                        bonus += 150;
+                    } else if (distance == 2) {
+                        bonus += 50;
+                    }
+                    EVAL[Position.code(side, type) * Position.SQUARES + square] = PIECE_VALUE[type] + bonus;
+                }
+            }
+        }
+    }
+
+    private final SearchEngine engine;
+    private final TranspositionTable table;
+    private final Position position = new Position(MAX_PLY + 8);
+    private final int[][] moves = new int[MAX_PLY][MoveGenerator.MAX_MOVES];
+    private final int[][] moveScores = new int[MAX_PLY][MoveGenerator.MAX_MOVES];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[] history = new int[2 * Position.PIECE_TYPES * Position.SQUARES];
+
+    private long nodes;
+    private int rootBestMove;
+    private int rootBestScore;
+
+    // Result of the deepest iteration this searcher completed
+    private int completedDepth;
+    private int completedMove;
+    private int completedScore;
+
+    /**
+     * Constructs a Searcher that reports to an engine.
+     *
+     * @param engine The engine owning the shared table and stop signal.
+     * @param table  The shared transposition table.
+     */
+    Searcher(SearchEngine engine, TranspositionTable table) {
+        this.engine = engine;
+        this.table = table;
+    }
+
+    /**
+     * Prepares a new search of a position, clearing the move ordering tables.
+     *
+     * @param root The position to search; it is copied.
+     */
+    void reset(Position root) {
+        position.copyFrom(root);
+        nodes = 0;
+        rootBestMove = Move.NONE;
+        rootBestScore = -INFINITY;
+        completedDepth = 0;
+        completedMove = Move.NONE;
+        completedScore = 0;
+        for (int[] pair : killers) {
+            pair[0] = Move.NONE;
+            pair[1] = Move.NONE;
+        }
+        Arrays.fill(history, 0);
+    }
+
+    /**
+     * Searches the root position to a fixed depth.
+     *
+     * @param depth The depth in plies.
+     * @return The score, or 0 if the search was stopped.
+     */
+    int searchRoot(int depth) {
+        rootBestMove = Move.NONE;
+        rootBestScore = -INFINITY;
+        return search(depth, -INFINITY, INFINITY, 0, true, true);
+    }
+
+    /**
+     * Runs iterative deepening until the depth is reached or the engine stops.
+     * Helper threads add a depth offset so that they explore different depths
+     * than the main thread and fill the shared table with different subtrees.
+     *
+     * @param firstMove   A legal root move, used if no iteration completes.
+     * @param legalMoves  The number of legal root moves.
+     * @param maxDepth    The deepest iteration to run.
+     * @param depthOffset The number of plies added to every iteration.
+     */
+    void iterate(int firstMove, int legalMoves, int maxDepth, int depthOffset) {
+        completedMove = firstMove;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int searchDepth = Math.min(depth + depthOffset, MAX_PLY - 1);
+            int score = searchRoot(searchDepth);
+            if (engine.isStopped()) {
+                // A root move that replaced the previous best was fully searched at this depth
+                if (rootBestMove != Move.NONE) {
+                    completedMove = rootBestMove;
+                    completedScore = rootBestScore;
+                }
+                return;
+            }
+            completedMove = rootBestMove;
+            completedScore = score;
+            completedDepth = searchDepth;
+            if (legalMoves == 1 || Math.abs(score) >= MATE_BOUND) {
+                return; // Nothing more to learn
+            }
+        }
+    }
+
+    /**
+     * Gets the depth of the deepest completed iteration.
+     *
+     * @return The depth in plies.
+     */
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Gets the best move of the deepest iteration.
+     *
+     * @return The packed move.
+     */
+    int getCompletedMove() {
+        return completedMove;
+    }
+
+    /**
+     * Gets the score of the deepest iteration.
+     *
+     * @return The score.
+     */
+    int getCompletedScore() {
+        return completedScore;
+    }
+
+    /**
+     * Gets the best root move of the last iteration.
+     *
+     * @return The packed move.
+     */
+    int getRootBestMove() {
+        return rootBestMove;
+    }
+
+    /**
+     * Gets the score of the best root move of the last iteration.
+     *
+     * @return The score.
+     */
+    int getRootBestScore() {
+        return rootBestScore;
+    }
+
+    /**
+     * Gets the number of positions visited since the last reset.
+     *
+     * @return The node count.
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Principal-variation alpha-beta search.
+     *
+     * @param depth     The remaining depth.
+     * @param alpha     The lower bound.
+     * @param beta      The upper bound.
+     * @param ply       The distance from the root.
+     * @param pvNode    True if the node is on the principal variation.
+     * @param allowNull True if a null move may be tried.
+     * @return The score from the side to move's point of view.
+     */
+    private int search(int depth, int alpha, int beta, int ply, boolean pvNode, boolean allowNull) {
+        if ((++nodes & CHECK_INTERVAL) == 0) {
+            engine.checkLimits(CHECK_INTERVAL + 1);
+        }
+        if (engine.isStopped()) {
+            return 0;
+        }
+
+        int side = position.sideToMove();
+        if (position.hasReachedDen(side ^ 1) || !position.hasPiecesLeft(side)) {
+            return -MATE + ply;
+        }
+        if (ply > 0 && isRepetition()) {
+            return 0;
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return quiesce(alpha, beta, ply);
+        }
+
+        long key = position.hash();
+        long entry = table.probe(key);
+        int ttMove = Move.NONE;
+        if (entry != 0) {
+            ttMove = TranspositionTable.move(entry);
+            if (!pvNode && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        // Null move pruning: if passing still fails high, the position is good enough
+        if (allowNull && !pvNode && depth >= 3 && Math.abs(beta) < MATE_BOUND && evaluate() >= beta) {
+            position.makeNullMove();
+            int score = -search(depth - 3, -beta, -beta + 1, ply + 1, false, false);
+            position.unmakeMove();
+            if (engine.isStopped()) {
+                return 0;
+            }
+            if (score >= beta) {
+                return beta;
+            }
+        }
+
+        int[] list = moves[ply];
+        int count = MoveGenerator.generate(position, list, 0);
+        if (count == 0) {
+            return -MATE + ply; // No legal move loses
+        }
+        scoreMoves(ply, count, ttMove);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(ply, i, count);
+            int to = Move.to(move);
+            boolean quiet = position.pieceAt(to) == Position.EMPTY && to != Position.DEN_SQUARE[side ^ 1];
+
+            position.makeMove(move);
+            int score;
+            if (i == 0) {
+                score = -search(depth - 1, -beta, -alpha, ply + 1, pvNode, true);
+            } else {
+                // Late quiet moves are searched shallower first
+                int reduction = (quiet && depth >= 3 && i >= 3 && move != killers[ply][0] && move != killers[ply][1]) ? 1 : 0;
+                score = -search(depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, false, true);
+                if (score > alpha && reduction > 0) {
+                    score = -search(depth - 1, -alpha - 1, -alpha, ply + 1, false, true);
+                }
+                if (score > alpha && score < beta) {
+                    score = -search(depth - 1, -beta, -alpha, ply + 1, true, true);
+                }
+            }
+            position.unmakeMove();
+            if (engine.isStopped()) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                    rootBestScore = score;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        if (quiet) {
+                            if (killers[ply][0] != move) {
+                                killers[ply][1] = killers[ply][0];
+                                killers[ply][0] = move;
+                            }
+                            history[historyIndex(move)] += depth * depth;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+                : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT
+                : TranspositionTable.BOUND_UPPER;
+        table.store(key, bestMove, toTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    /**
+     * Searches captures and den entries only, so that the static evaluation
+     * is never taken in the middle of an exchange.
+     *
+     * @param alpha The lower bound.
+     * @param beta  The upper bound.
+     * @param ply   The distance from the root.
+     * @return The score from the side to move's point of view.
+     */
+    private int quiesce(int alpha, int beta, int ply) {
+        if ((++nodes & CHECK_INTERVAL) == 0) {
+            engine.checkLimits(CHECK_INTERVAL + 1);
+        }
+        if (engine.isStopped()) {
+            return 0;
+        }
+        int side = position.sideToMove();
+        if (position.hasReachedDen(side ^ 1) || !position.hasPiecesLeft(side)) {
+            return -MATE + ply;
+        }
+
+        int standPat = evaluate();
+        if (standPat >= beta || ply >= MAX_PLY - 1) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        int[] list = moves[ply];
+        int count = MoveGenerator.generate(position, list, 0);
+        scoreMoves(ply, count, Move.NONE);
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(ply, i, count);
+            if (moveScores[ply][i] < CAPTURE_SCORE) {
+                break; // Moves are sorted, only quiet moves remain
+            }
+            position.makeMove(move);
+            int score = -quiesce(-beta, -alpha, ply + 1);
+            position.unmakeMove();
+            if (engine.isStopped()) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * Evaluates the position statically.
+     *
+     * @return The score from the side to move's point of view.
+     */
+    int evaluate() {
+        int score = 0;
+        long pieces = position.occupancy();
+        while (pieces != 0) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            int code = position.pieceAt(square);
+            int value = EVAL[code * Position.SQUARES + square];
+            score += Position.sideOf(code) == Position.PLAYER1 ? value : -value;
+        }
+        return position.sideToMove() == Position.PLAYER1 ? score : -score;
+    }
+
+    /**
+     * Orders the moves of a ply: table move, den entries and captures by victim value,
+     * killer moves, then quiet moves by history.
+     *
+     * @param ply    The distance from the root.
+     * @param count  The number of moves.
+     * @param ttMove The best move stored in the transposition table.
+     */
+    private void scoreMoves(int ply, int count, int ttMove) {
+        int[] list = moves[ply];
+        int[] scores = moveScores[ply];
+        int enemyDen = Position.DEN_SQUARE[position.sideToMove() ^ 1];
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            int to = Move.to(move);
+            int victim = position.pieceAt(to);
+            if (move == ttMove) {
+                scores[i] = TT_MOVE_SCORE;
+            } else if (to == enemyDen) {
+                scores[i] = TT_MOVE_SCORE - 1;
+            } else if (victim != Position.EMPTY) {
+                int attacker = Position.typeOf(position.pieceAt(Move.from(move)));
+                scores[i] = CAPTURE_SCORE + PIECE_VALUE[Position.typeOf(victim)] * 8 - PIECE_VALUE[attacker] / 8;
+            } else if (move == killers[ply][0] || move == killers[ply][1]) {
+                scores[i] = KILLER_SCORE;
+            } else {
+                scores[i] = Math.min(history[historyIndex(move)], KILLER_SCORE - 1);
+            }
+        }
+    }
+
+    /**
+     * Moves the highest scored remaining move to the given index and returns it.
+     *
+     * @param ply   The distance from the root.
+     * @param index The index to fill.
+     * @param count The number of moves.
+     * @return The move at the index after sorting.
+     */
+    private int pickNext(int ply, int index, int count) {
+        int[] list = moves[ply];
+        int[] scores = moveScores[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        if (best != index) {
+            int move = list[best];
+            list[best] = list[index];
+            list[index] = move;
+            int score = scores[best];
+            scores[best] = scores[index];
+            scores[index] = score;
+        }
+        return list[index];
+    }
+
+    /**
+     * Gets the history counter index of a move.
+     *
+     * @param move The packed move.
+     * @return The index by moving piece code and destination square.
+     */
+    private int historyIndex(int move) {
+        return position.pieceAt(Move.from(move)) * Position.SQUARES + Move.to(move);
+    }
+
+    /**
+     * Checks if the position repeats one reached earlier in the search
+     * with the same side to move.
+     *
+     * @return True if the position is a repetition.
+     */
+    private boolean isRepetition() {
+        long key = position.hash();
+        int limit = Math.min(position.ply(), 16);
+        for (int back = 2; back <= limit; back += 2) {
+            if (position.hashBefore(back) == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts a score to the form stored in the table, making den scores
+     * relative to the node instead of the root.
+     *
+     * @param score The score.
+     * @param ply   The distance from the root.
+     * @return The score to store.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score + ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Converts a stored score back to a root-relative score.
+     *
+     * @param score The stored score.
+     * @param ply   The distance from the root.
+     * @return The score.
+     */
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score - ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,129 @@
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import javax.swing.ImageIcon;
+
+/**
+ * Holds the board images scaled to the current cell size. Each original image is
+ * scaled once, the first time it is asked for at a given size, and the result is
+ * reused until the cell size changes. Callers always pass the original, unscaled
+ * image, so repeated resizes never scale an already scaled copy.
+ *
+ * Board squares that show a piece, trap or den over a terrain tile use a composite
+ * of two scaled sprites. Composites are cached as well, so after the first few moves
+ * a board update draws no images and allocates none.
+ */
+public class SpriteCache {
+    private final Map<Image, ImageIcon> scaled = new IdentityHashMap<>(); // Keyed by original image
+    private final Map<ImageIcon, Map<ImageIcon, ImageIcon>> composites = new IdentityHashMap<>(); // Keyed by background, then overlay
+    private int width;
+    private int height;
+
+    /**
+     * Sets the size of a board cell, dropping the scaled images if it changed.
+     *
+     * @param width  The cell width in pixels.
+     * @param height The cell height in pixels.
+     * @return True if the size changed.
+     */
+    public boolean setCellSize(int width, int height) {
+        if (width == this.width && height == this.height) {
+            return false;
+        }
+        this.width = width;
+        this.height = height;
+        scaled.clear();
+        composites.clear();
+        return true;
+    }
+
+    /**
+     * Checks whether a cell size has been set.
+     *
+     * @return True if images can be scaled.
+     */
+    public boolean hasCellSize() {
+        return width > 0 && height > 0;
+    }
+
+    /**
+     * Gets an icon scaled to the cell size.
+     *
+     * @param original The original icon.
+     * @return The scaled icon.
+     */
+    public ImageIcon get(ImageIcon original) {
+        return get(original.getImage());
+    }
+
+    /**
+     * Gets an image scaled to the cell size.
+     *
+     * @param original The original image, fully loaded.
+     * @return The scaled image as an icon.
+     */
+    public ImageIcon get(Image original) {
+        ImageIcon icon = scaled.get(original);
+        if (icon == null) {
+            icon = new ImageIcon(scale(original, width, height));
+            scaled.put(original, icon);
+        }
+        return icon;
+    }
+
+    /**
+     * Gets a scaled sprite drawn over another, such as an animal over a grass tile.
+     * Both sprites must come from this cache, so that they match the cell size and
+     * identify the combination of terrain, piece and owner.
+     *
+     * @param background The scaled background sprite.
+     * @param overlay    The scaled sprite drawn on top.
+     * @return The combined sprite.
+     */
+    public ImageIcon composite(ImageIcon background, ImageIcon overlay) {
+        Map<ImageIcon, ImageIcon> overlays = composites.computeIfAbsent(background, key -> new IdentityHashMap<>());
+        ImageIcon icon = overlays.get(overlay);
+        if (icon == null) {
+            Image backgroundImage = background.getImage();
+            BufferedImage combined = new BufferedImage(
+                    backgroundImage.getWidth(null), backgroundImage.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = combined.createGraphics();
+            g.drawImage(backgroundImage, 0, 0, null);
+            g.drawImage(overlay.getImage(), 0, 0, null);
+            g.dispose();
+            icon = new ImageIcon(combined);
+            overlays.put(overlay, icon);
+        }
+        return icon;
+    }
+
+    /**
+     * Scales an image with bilinear filtering. Large reductions are done in steps of
+     * at most one half, which keeps the smoothness of Image.SCALE_SMOOTH at a fraction
+     * of its cost.
+     *
+     * @param source The image to scale, fully loaded.
+     * @param width  The target width.
+     * @param height The target height.
+     * @return The scaled image.
+     */
+    public static BufferedImage scale(Image source, int width, int height) {
+        int w = source.getWidth(null);
+        int h = source.getHeight(null);
+        Image current = source;
+        do {
+            w = w / 2 >= width ? w / 2 : width;
+            h = h / 2 >= height ? h / 2 : height;
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return (BufferedImage) current;
+    }
+}
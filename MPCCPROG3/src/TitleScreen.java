@@ -33,9 +33,11 @@ public class TitleScreen extends JFrame {
             }
         });
 
-        // Load the original images
-        originalTitleImage = new ImageIcon("assets/titlescreen.png").getImage();
-        originalClickImage = new ImageIcon("assets/clickanywhere.png").getImage();
+        // Start decoding every image in the background while the title is shown,
+        // then load the original images
+        AssetRegistry.preload();
+        originalTitleImage = AssetRegistry.getImage("assets/titlescreen.png");
+        originalClickImage = AssetRegistry.getImage("assets/clickanywhere.png");
 
         // Create fade timer
         fadeTimer = new Timer(50, new ActionListener() {
@@ -0,0 +1,214 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size transposition table shared by all search threads.
+ * Entries live in a flat long[] as (key XOR data, data) pairs, so readers and
+ * writers never lock: an entry torn by a concurrent write fails the key check
+ * on the next probe and is simply treated as a miss.
+ *
+ * The data word packs the best move (bits 0-15), the score (bits 16-31, signed),
+ * the depth (bits 32-39), the bound (bits 40-41) and the search age (bits 42-49).
+ */
+public class TranspositionTable {
+    public static final int BOUND_LOWER = 1; // Score is at least the stored value (fail high)
+    public static final int BOUND_UPPER = 2; // Score is at most the stored value (fail low)
+    public static final int BOUND_EXACT = 3; // Score is exact (principal variation)
+
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] table;       // Two longs per entry
+    private final int mask;           // Entry count minus one
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder filled = new LongAdder();
+    private volatile int age;         // Incremented on every new search
+
+    /**
+     * Constructs a transposition table using at most the given amount of memory.
+     *
+     * @param sizeMb The table size in megabytes, at least 1.
+     */
+    public TranspositionTable(int sizeMb) {
+        long bytes = Math.max(1, sizeMb) * 1024L * 1024L;
+        // Largest power of two number of entries that fits, capped by the maximum array size
+        long entries = Long.highestOneBit(Math.min(bytes / ENTRY_BYTES, 1L << 29));
+        table = new long[(int) entries * 2];
+        mask = (int) entries - 1;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key The Zobrist key of the position.
+     * @return The packed data of the entry, or 0 if the position is not stored.
+     */
+    public long probe(long key) {
+        int index = ((int) key & mask) << 1;
+        long data = table[index + 1];
+        probes.increment();
+        if (data != 0 && (table[index] ^ data) == key) {
+            hits.increment();
+            return data;
+        }
+        return 0;
+    }
+
+    /**
+     * Stores a search result, replacing the current entry unless it is a deeper
+     * result for a different position from the current search.
+     *
+     * @param key   The Zobrist key of the position.
+     * @param move  The best move found, or Move.NONE.
+     * @param score The score.
+     * @param depth The remaining depth the score was searched to.
+     * @param bound BOUND_LOWER, BOUND_UPPER or BOUND_EXACT.
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = ((int) key & mask) << 1;
+        long oldData = table[index + 1];
+        if (oldData != 0) {
+            boolean samePosition = (table[index] ^ oldData) == key;
+            if (!samePosition && age(oldData) == (age & 0xFF) && depth(oldData) > depth) {
+                return;
+            }
+            if (samePosition && move == Move.NONE) {
+                move = move(oldData); // Keep the known best move
+            }
+        } else {
+            filled.increment();
+        }
+        long data = (move & 0xFFFFL)
+                | ((score & 0xFFFFL) << 16)
+                | ((long) Math.max(0, Math.min(depth, 255)) << 32)
+                | ((long) bound << 40)
+                | ((long) (age & 0xFF) << 42);
+        table[index] = key ^ data;
+        table[index + 1] = data;
+        stores.increment();
+    }
+
+    /**
+     * Marks the start of a new search so that older entries are replaced first.
+     */
+    public void newSearch() {
+        age++;
+    }
+
+    /**
+     * Removes every entry and resets the counters.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        probes.reset();
+        hits.reset();
+        stores.reset();
+        filled.reset();
+    }
+
+    /**
+     * Gets the best move of an entry.
+     *
+     * @param data The packed entry data.
+     * @return The packed move.
+     */
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    /**
+     * Gets the score of an entry.
+     *
+     * @param data The packed entry data.
+     * @return The score.
+     */
+    public static int score(long data) {
+        return (short) (data >>> 16);
+    }
+
+    /**
+     * Gets the depth of an entry.
+     *
+     * @param data The packed entry data.
+     * @return The remaining depth the score was searched to.
+     */
+    public static int depth(long data) {
+        return (int) ((data >>> 32) & 0xFF);
+    }
+
+    /**
+     * Gets the bound type of an entry.
+     *
+     * @param data The packed entry data.
+     * @return BOUND_LOWER, BOUND_UPPER or BOUND_EXACT.
+     */
+    public static int bound(long data) {
+        return (int) ((data >>> 40) & 3);
+    }
+
+    /**
+     * Gets the search age of an entry.
+     *
+     * @param data The packed entry data.
+     * @return The age, modulo 256.
+     */
+    private static int age(long data) {
+        return (int) ((data >>> 42) & 0xFF);
+    }
+
+    /**
+     * Gets the number of entries in the table.
+     *
+     * @return The capacity in entries.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Gets the number of probes since the last clear.
+     *
+     * @return The probe count.
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Gets the number of successful probes since the last clear.
+     *
+     * @return The hit count.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of stores since the last clear.
+     *
+     * @return The store count.
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Gets the fraction of probes that found their position.
+     *
+     * @return The hit rate between 0 and 1.
+     */
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0.0 : hits.sum() / (double) total;
+    }
+
+    /**
+     * Gets the fraction of entries in use.
+     *
+     * @return The fill ratio between 0 and 1.
+     */
+    public double getFillRate() {
+        return Math.min(1.0, filled.sum() / (double) capacity());
+    }
+}